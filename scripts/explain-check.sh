@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Verifies that the main repository queries are planned as index scans. Run against a database seeded
+# with scripts/search-benchmark.sql (small tables are legitimately sequentially scanned):
+#   PGDATABASE=ems_bench scripts/explain-check.sh
+# Exits non-zero when a plan does not use the expected index or scans the employees table.
+# QueryPlanIndexTest explains the SQL Hibernate actually generates; this script checks hand-written equivalents
+# against an existing database.
+set -euo pipefail
+
+failures=0
+
+check() {
+    local name=$1
+    local expected_index=$2
+    local sql=$3
+
+    local plan
+    plan=$(psql -X -At -v ON_ERROR_STOP=1 -c "EXPLAIN $sql")
+
+    if grep -q "Seq Scan on employees" <<< "$plan" || ! grep -q "$expected_index" <<< "$plan"; then
+        echo "FAIL $name (expected $expected_index)"
+        sed 's/^/    /' <<< "$plan"
+        failures=$((failures + 1))
+    else
+        echo "ok   $name ($expected_index)"
+    fi
+}
+
+# EmployeeRepository.findAll(Pageable) - GET /employees default sort
+check "getAllEmployees" idx_employees_first_name_id \
+    "SELECT e.*, d.* FROM employees e LEFT JOIN departments d ON d.id = e.department_id
+     ORDER BY e.first_name, e.id LIMIT 10 OFFSET 0"
+
+# EmployeeRepositoryImpl.findEmployeesAfter - keyset page after (first_name, id)
+check "getEmployeesByCursor" idx_employees_first_name_id \
+    "SELECT e.* FROM employees e LEFT JOIN departments d ON d.id = e.department_id
+     WHERE (e.first_name, e.id) > ('First8', 500000) ORDER BY e.first_name, e.id LIMIT 11"
+
+# EmployeeRepository.findByDepartmentId(Long, Pageable)
+check "getEmployeesByDepartment" idx_employees_department_id \
+    "SELECT e.* FROM employees e WHERE e.department_id = 42 LIMIT 10"
+
+# EmployeeSpecifications.hasPosition
+check "filterEmployees(position)" idx_employees_position_lower \
+    "SELECT e.* FROM employees e WHERE LOWER(e.position) = 'engineer 5' ORDER BY e.first_name, e.id LIMIT 10"
+
+# EmployeeSpecifications.hiredBetween
+check "filterEmployees(hireDate)" idx_employees_hire_date \
+    "SELECT e.* FROM employees e WHERE e.hire_date BETWEEN DATE '2015-01-01' AND DATE '2015-01-31'"
+
+# EmployeeRepository.searchEmployeeIds
+check "searchEmployees" idx_employees_first_name_trgm \
+    "SELECT e.id FROM employees e WHERE
+     LOWER(e.first_name) LIKE '%a3f9%' OR LOWER(e.last_name) LIKE '%a3f9%' OR
+     LOWER(e.email) LIKE '%a3f9%' OR LOWER(e.position) LIKE '%a3f9%' LIMIT 10"
+
+if [ "$failures" -gt 0 ]; then
+    echo "$failures plan(s) did not use the expected index"
+    exit 1
+fi
@@ -0,0 +1,42 @@
+// k6 load test for GET /employees and /employees/filter.
+// Usage: k6 run -e BASE_URL=http://localhost:8080/api -e DEPARTMENT_ID=1 scripts/load-test.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const DEPARTMENT_ID = __ENV.DEPARTMENT_ID || '1';
+
+export const options = {
+    scenarios: {
+        list: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 400),
+            duration: __ENV.DURATION || '60s',
+            exec: 'listEmployees',
+        },
+        filter: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 400),
+            duration: __ENV.DURATION || '60s',
+            exec: 'filterEmployees',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_duration{scenario:list}': ['p(99)>=0'],
+        'http_req_duration{scenario:filter}': ['p(99)>=0'],
+        'http_reqs{scenario:list}': ['count>=0'],
+        'http_reqs{scenario:filter}': ['count>=0'],
+    },
+};
+
+export function listEmployees() {
+    const page = Math.floor(Math.random() * 50);
+    const res = http.get(`${BASE_URL}/employees?page=${page}&size=20`);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function filterEmployees() {
+    const res = http.get(`${BASE_URL}/employees/filter?departmentId=${DEPARTMENT_ID}&search=a&size=20`);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
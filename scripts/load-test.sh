@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Compares throughput and p99 latency of GET /employees and /employees/filter between the default
+# platform-thread mode and the virtual-threads profile. Requires k6, a running PostgreSQL with
+# seeded data (see scripts/search-benchmark.sql) and a built jar (mvn -DskipTests package).
+set -euo pipefail
+
+JAR=${JAR:-$(ls target/*.jar | grep -v original | head -n 1)}
+BASE_URL=${BASE_URL:-http://localhost:8080/api}
+OUT_DIR=${OUT_DIR:-target/load-test}
+mkdir -p "$OUT_DIR"
+
+run_mode() {
+    local mode=$1
+    local profiles=$2
+
+    echo "=== $mode ==="
+    java -jar "$JAR" --spring.profiles.active="$profiles" --spring.jpa.show-sql=false \
+        > "$OUT_DIR/$mode-app.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    until curl -sf "$BASE_URL/actuator/health" > /dev/null; do sleep 1; done
+
+    k6 run --quiet -e BASE_URL="$BASE_URL" --summary-export "$OUT_DIR/$mode-summary.json" \
+        scripts/load-test.js | tee "$OUT_DIR/$mode-k6.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform-threads default
+run_mode virtual-threads virtual-threads
+
+echo "Summaries written to $OUT_DIR (compare http_reqs and http_req_duration p(99) per scenario)"
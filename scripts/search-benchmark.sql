@@ -0,0 +1,65 @@
+-- Search latency benchmark on a seeded 1M-employee dataset.
+-- Run against a scratch database after the application has applied its migrations:
+--   psql -d ems_bench -f scripts/search-benchmark.sql
+-- Compare the EXPLAIN ANALYZE timings with and without the trigram indexes
+-- (DROP INDEX idx_employees_*_trgm) to see the sequential-scan baseline.
+
+\timing on
+
+TRUNCATE employees, departments RESTART IDENTITY CASCADE;
+
+INSERT INTO departments (name, description, location, created_at, updated_at)
+SELECT 'Department ' || i, 'Seeded department ' || i, 'Location ' || (i % 25), now(), now()
+FROM generate_series(1, 200) AS i;
+
+INSERT INTO employees (first_name, last_name, email, phone, position, salary, hire_date,
+                       department_id, created_at, updated_at)
+SELECT 'First' || md5(i::text),
+       'Last' || md5((i * 7)::text),
+       'employee' || i || '@example.com',
+       '555-' || lpad((i % 10000)::text, 4, '0'),
+       (ARRAY ['Engineer', 'Manager', 'Analyst', 'Designer', 'Accountant'])[1 + i % 5] || ' ' || (i % 97),
+       30000 + (i % 120000),
+       DATE '2010-01-01' + (i % 5000),
+       1 + i % 200,
+       now(), now()
+FROM generate_series(1, 1000000) AS i;
+
+ANALYZE employees;
+ANALYZE departments;
+
+-- EmployeeRepository.searchEmployeeIds (first page of 10)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT e.id FROM employees e WHERE
+    LOWER(e.first_name) LIKE '%' || LOWER('a3f9') || '%' OR
+    LOWER(e.last_name) LIKE '%' || LOWER('a3f9') || '%' OR
+    LOWER(e.email) LIKE '%' || LOWER('a3f9') || '%' OR
+    LOWER(e.position) LIKE '%' || LOWER('a3f9') || '%'
+ORDER BY GREATEST(
+    word_similarity(LOWER('a3f9'), LOWER(e.first_name)),
+    word_similarity(LOWER('a3f9'), LOWER(e.last_name)),
+    word_similarity(LOWER('a3f9'), LOWER(e.email)),
+    word_similarity(LOWER('a3f9'), LOWER(e.position))) DESC, e.id
+LIMIT 10;
+
+-- Matching count query
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM employees e WHERE
+    LOWER(e.first_name) LIKE '%a3f9%' OR
+    LOWER(e.last_name) LIKE '%a3f9%' OR
+    LOWER(e.email) LIKE '%a3f9%' OR
+    LOWER(e.position) LIKE '%a3f9%';
+
+-- Selective email lookup
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT e.id FROM employees e WHERE LOWER(e.email) LIKE '%employee424242@%';
+
+-- DepartmentRepository.searchDepartmentIds
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT d.id FROM departments d WHERE
+    LOWER(d.name) LIKE '%' || LOWER('ment 1') || '%' OR
+    LOWER(d.location) LIKE '%' || LOWER('ment 1') || '%'
+ORDER BY GREATEST(
+    word_similarity(LOWER('ment 1'), LOWER(d.name)),
+    word_similarity(LOWER('ment 1'), LOWER(d.location))) DESC, d.id
+LIMIT 10;
@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Measures time-to-ready and RSS for the plain jar, the AOT jar, the AOT jar with an AppCDS archive
+# and (when built) the native image. Requires a running PostgreSQL, Java 21 and, for the native
+# variant, a binary from `mvn -Paot,native native:compile`. Each variant is started RUNS times; the time
+# is measured until /actuator/health answers, RSS is read once the app is ready.
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+BASE_URL=${BASE_URL:-http://localhost:8080/api}
+OUT_DIR=${OUT_DIR:-target/startup}
+PROFILES=${PROFILES:-fast-startup}
+NATIVE_BIN=${NATIVE_BIN:-target/2026-EMS-SpringBoot-PostgreSQL}
+mkdir -p "$OUT_DIR"
+
+jar_path() {
+    ls target/*.jar | grep -v original | head -n 1
+}
+
+measure() {
+    local name=$1
+    shift
+
+    for run in $(seq 1 "$RUNS"); do
+        local start
+        start=$(date +%s%N)
+        "$@" --spring.profiles.active="$PROFILES" > "$OUT_DIR/$name-$run.log" 2>&1 &
+        local pid=$!
+
+        until curl -sf "$BASE_URL/actuator/health" > /dev/null; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$name failed to start, see $OUT_DIR/$name-$run.log" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+
+        local ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+        local rss_kb
+        rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+        echo "$name,$run,$ready_ms,$rss_kb" | tee -a "$OUT_DIR/results.csv"
+
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+    done
+}
+
+echo "variant,run,ready_ms,rss_kb" > "$OUT_DIR/results.csv"
+
+# 1. Plain jar
+mvn -q -B -DskipTests package
+measure jar java -jar "$(jar_path)"
+
+# 2. AOT-processed jar, unpacked so the JVM can archive classes from plain jars (CDS cannot use nested jars)
+mvn -q -B -DskipTests -Paot package
+rm -rf "$OUT_DIR/app"
+java -Djarmode=layertools -jar "$(jar_path)" extract --destination "$OUT_DIR/app"
+APP_CP="$OUT_DIR/app/dependencies/BOOT-INF/lib/*:$OUT_DIR/app/spring-boot-loader:$OUT_DIR/app/snapshot-dependencies/BOOT-INF/lib/*:$OUT_DIR/app/application/BOOT-INF/classes"
+MAIN_CLASS=$(unzip -p "$(jar_path)" META-INF/MANIFEST.MF | awk -F': ' '/Start-Class/ {print $2}' | tr -d '\r')
+measure aot java -Dspring.aot.enabled=true -cp "$APP_CP" "$MAIN_CLASS"
+
+# 3. AOT jar + AppCDS: a training run that exits right after the context refreshes dumps the archive
+java -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh -XX:ArchiveClassesAtExit="$OUT_DIR/app.jsa" \
+    -cp "$APP_CP" "$MAIN_CLASS" --spring.profiles.active="$PROFILES" > "$OUT_DIR/cds-training.log" 2>&1 || true
+measure aot-cds java -Dspring.aot.enabled=true -XX:SharedArchiveFile="$OUT_DIR/app.jsa" -cp "$APP_CP" "$MAIN_CLASS"
+
+# 4. Native image, if one was built
+if [ -x "$NATIVE_BIN" ]; then
+    measure native "$NATIVE_BIN"
+fi
+
+echo
+echo "Median per variant (ready_ms, rss_kb):"
+tail -n +2 "$OUT_DIR/results.csv" | sort -t, -k1,1 -k3,3n | awk -F, -v runs="$RUNS" '
+    { n[$1]++; if (n[$1] == int((runs + 1) / 2)) { ready[$1] = $3; rss[$1] = $4 } }
+    END { for (v in ready) printf "  %-8s %6d ms %8d kB\n", v, ready[v], rss[v] }'
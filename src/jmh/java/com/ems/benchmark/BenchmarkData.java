@@ -0,0 +1,47 @@
+package com.ems.benchmark;
+
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Department department(long id) {
+        Department department = new Department();
+        department.setId(id);
+        department.setName("Department " + id);
+        department.setDescription("Benchmark department " + id);
+        department.setLocation("Building " + (id % 5));
+        department.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        department.setUpdatedAt(LocalDateTime.of(2025, 6, 1, 17, 30));
+        return department;
+    }
+
+    static List<Employee> employees(int count, Department department) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i + 1);
+            employee.setFirstName("First" + i);
+            employee.setLastName("Last" + i);
+            employee.setEmail("employee" + i + "@example.com");
+            employee.setPhone("555-" + (1000 + i));
+            employee.setPosition("Engineer");
+            employee.setSalary(BigDecimal.valueOf(50_000 + i, 2));
+            employee.setHireDate(LocalDate.of(2020, 1, 1).plusDays(i));
+            employee.setDepartment(department);
+            employee.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i));
+            employee.setUpdatedAt(LocalDateTime.of(2025, 6, 1, 17, 30).plusMinutes(i));
+            employees.add(employee);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ems.benchmark;
+
+import com.ems.dto.DepartmentResponseDTO;
+import com.ems.dto.EmployeeResponseDTO;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.util.MapperUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperUtilBenchmark {
+
+    private final MapperUtil mapperUtil = new MapperUtil();
+
+    private Department department;
+    private Employee employee;
+    private Map<Long, Long> departmentEmployeeCounts;
+
+    @Setup
+    public void setUp() {
+        department = BenchmarkData.department(1L);
+        employee = BenchmarkData.employees(1, department).get(0);
+        departmentEmployeeCounts = Map.of(1L, 250L);
+    }
+
+    @Benchmark
+    public EmployeeResponseDTO toEmployeeResponseDTO() {
+        return mapperUtil.toEmployeeResponseDTO(employee, departmentEmployeeCounts);
+    }
+
+    @Benchmark
+    public DepartmentResponseDTO toDepartmentResponseDTO() {
+        return mapperUtil.toDepartmentResponseDTO(department, 250L);
+    }
+}
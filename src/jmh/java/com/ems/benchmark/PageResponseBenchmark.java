@@ -0,0 +1,80 @@
+package com.ems.benchmark;
+
+import com.ems.dto.EmployeeResponseDTO;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.util.MapperUtil;
+import com.ems.util.PageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the listing response pipeline: entity page to DTOs, PageResponse assembly,
+ * and JSON serialization with the @JsonFormat date patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageResponseBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private final MapperUtil mapperUtil = new MapperUtil();
+
+    // Same builder Spring Boot uses for its auto-configured ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Page<Employee> employeePage;
+    private Map<Long, Long> departmentEmployeeCounts;
+    private List<EmployeeResponseDTO> dtoList;
+    private PageResponse<EmployeeResponseDTO> pageResponse;
+
+    @Setup
+    public void setUp() {
+        Department department = BenchmarkData.department(1L);
+        employeePage = new PageImpl<>(BenchmarkData.employees(pageSize, department),
+                PageRequest.of(3, pageSize), 100_000);
+        departmentEmployeeCounts = Map.of(1L, 250L);
+        dtoList = mapDtos();
+        pageResponse = PageResponse.of(employeePage, dtoList);
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDTO> mapPage() {
+        return mapDtos();
+    }
+
+    @Benchmark
+    public PageResponse<EmployeeResponseDTO> pageResponseOf() {
+        return PageResponse.of(employeePage, dtoList);
+    }
+
+    @Benchmark
+    public byte[] serializePageResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(PageResponse.of(employeePage, mapDtos()));
+    }
+
+    private List<EmployeeResponseDTO> mapDtos() {
+        return employeePage.getContent().stream()
+                .map(employee -> mapperUtil.toEmployeeResponseDTO(employee, departmentEmployeeCounts))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,19 @@
+package com.ems.cache;
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose concurrent calls with equal arguments may share one execution.
+ * See {@link RequestCoalescer}. Arguments must implement {@code equals}/{@code hashCode}, and the result
+ * is handed to every waiting caller, so it must not be modified after it is returned.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,79 @@
+package com.ems.cache;
+
+
+import com.ems.repository.DepartmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bumps the data_version row behind the collection ETags once a write to employees or departments
+ * has committed. The bump runs in its own one-statement transaction, so writers never hold the row
+ * lock, and readers never see the new version before the new rows (on the primary or a replica).
+ */
+@Component
+@Slf4j
+public class CollectionVersion {
+
+    private static final ThreadLocal<Long> OBSERVED = new ThreadLocal<>();
+
+    private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate newTransaction;
+
+    public CollectionVersion(DepartmentRepository departmentRepository, PlatformTransactionManager transactionManager) {
+        this.departmentRepository = departmentRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records the version the current request read for its ETag; {@link RequestCoalescer} only lets the
+     * request share a result computed for that same version.
+     */
+    public static void observed(long version) {
+        OBSERVED.set(version);
+    }
+
+    // Returns and forgets the version this thread last read, or null when it read none
+    static Long takeObserved() {
+        Long version = OBSERVED.get();
+        OBSERVED.remove();
+        return version;
+    }
+
+    /**
+     * Called by every service write; registered once per transaction and skipped on rollback.
+     */
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+
+        boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(BumpAfterCommit.class::isInstance);
+        if (!registered) {
+            TransactionSynchronizationManager.registerSynchronization(new BumpAfterCommit());
+        }
+    }
+
+    private void bump() {
+        try {
+            newTransaction.executeWithoutResult(status -> departmentRepository.bumpDataVersion());
+        } catch (RuntimeException ex) {
+            // The write itself has committed; list ETags stay on the old version until the next write bumps it
+            log.warn("Could not bump the collection data version", ex);
+        }
+    }
+
+    private class BumpAfterCommit implements TransactionSynchronization {
+        @Override
+        public void afterCommit() {
+            bump();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ems.cache;
+
+
+import com.ems.config.CoalescingProperties;
+import com.ems.config.datasource.ReplicaRoutingContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight execution of {@link Coalesced} service methods: while a call is running, identical calls
+ * wait for its result instead of running the same queries again. Runs outside the transaction advice,
+ * so waiting callers hold no connection. Followers wait at most {@code app.coalescing.max-wait}, then
+ * run the call themselves.
+ * <p>
+ * {@code ems.coalescing.calls} counts calls by method and outcome (leader, follower, timeout);
+ * follower / total is the share of database work saved.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestCoalescer {
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("ems.coalescing.in.flight", inFlight, Map::size)
+                .description("Coalesced calls currently executing")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(com.ems.cache.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Long dataVersion = CollectionVersion.takeObserved();
+
+        // Callers inside a transaction may depend on their own uncommitted writes
+        if (!properties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        Key key = new Key(method, Arrays.asList(joinPoint.getArgs()), ReplicaRoutingContext.isPinnedToPrimary(), dataVersion);
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            return await(method, running, joinPoint);
+        }
+
+        count(method, "leader");
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(ex);
+            throw ex;
+        }
+
+        // Removed before completing so callers arriving from now on start a fresh execution
+        inFlight.remove(key, call);
+        call.complete(result);
+        return result;
+    }
+
+    private Object await(String method, CompletableFuture<Object> running, ProceedingJoinPoint joinPoint) throws Throwable {
+        try {
+            Object result = running.get(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+            count(method, "follower");
+            return result;
+        } catch (ExecutionException ex) {
+            count(method, "follower");
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            // A slow execution must not hold every follower hostage
+            log.debug("Coalesced call {} still running after {}, executing independently", method, properties.getMaxWait());
+            count(method, "timeout");
+            return joinPoint.proceed();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    private void count(String method, String outcome) {
+        Counter.builder("ems.coalescing.calls")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // Calls pinned to the primary must not reuse a result read from a replica. A caller that already sent
+    // its ETag's data version only joins leaders started for that version: a leader started before a
+    // later write would otherwise hand it the old rows under the new ETag
+    @Value
+    private static class Key {
+        String method;
+        List<Object> args;
+        boolean primary;
+        Long dataVersion;
+    }
+}
@@ -0,0 +1,152 @@
+package com.ems.cache;
+
+
+import com.ems.config.CacheProperties;
+import com.ems.config.datasource.ReplicaRoutingContext;
+import com.ems.dto.DepartmentResponseDTO;
+import com.ems.dto.EmployeeResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache for single-resource employee and department responses.
+ * Caffeine's W-TinyLFU policy handles eviction; writes invalidate entries after commit.
+ * Misses load from the primary so replica lag is never cached for the whole TTL.
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+
+    private final boolean enabled;
+    private final Cache<Long, EmployeeResponseDTO> employees;
+    private final Cache<Long, DepartmentResponseDTO> departments;
+
+    // departmentId -> ids of cached employee responses that embed that department
+    private final Map<Long, Set<Long>> employeesByDepartment = new ConcurrentHashMap<>();
+
+    // Bumped before every department eviction so in-flight employee loads can tell they raced one
+    private final AtomicLong departmentEvictions = new AtomicLong();
+
+    public ResponseCache(CacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.employees = Caffeine.newBuilder()
+                .maximumSize(properties.getEmployeeMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .executor(Runnable::run)
+                .<Long, EmployeeResponseDTO>removalListener((id, dto, cause) -> unindex(id, dto))
+                .build();
+        this.departments = Caffeine.newBuilder()
+                .maximumSize(properties.getDepartmentMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, employees, "employees");
+        CaffeineCacheMetrics.monitor(meterRegistry, departments, "departments");
+    }
+
+    public EmployeeResponseDTO getEmployee(Long id, Supplier<EmployeeResponseDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        // The load runs inside Caffeine's per-key compute, so an evictEmployee() for this id waits for
+        // it and then removes the value instead of racing with a put of a pre-commit read
+        AtomicReference<EmployeeResponseDTO> uncached = new AtomicReference<>();
+        EmployeeResponseDTO cached = employees.get(id, key -> {
+            long evictionsBefore = departmentEvictions.get();
+            EmployeeResponseDTO loaded = ReplicaRoutingContext.onPrimary(loader);
+            index(key, loaded);
+            // A department eviction that ran mid-load may have missed this id; serve but don't cache
+            if (departmentEvictions.get() != evictionsBefore) {
+                unindex(key, loaded);
+                uncached.set(loaded);
+                return null;
+            }
+            return loaded;
+        });
+        return cached != null ? cached : uncached.get();
+    }
+
+    public DepartmentResponseDTO getDepartment(Long id, Supplier<DepartmentResponseDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return departments.get(id, key -> ReplicaRoutingContext.onPrimary(loader));
+    }
+
+    public void evictEmployee(Long id) {
+        afterCommit(() -> employees.invalidate(id));
+    }
+
+    /**
+     * Evicts the department and every cached employee response embedding its summary,
+     * since name, location and employee count are copied into those responses.
+     */
+    public void evictDepartment(Long id) {
+        if (id == null) {
+            return;
+        }
+
+        afterCommit(() -> {
+            departmentEvictions.incrementAndGet();
+            departments.invalidate(id);
+            Set<Long> employeeIds = employeesByDepartment.remove(id);
+            if (employeeIds != null) {
+                employees.invalidateAll(employeeIds);
+            }
+        });
+    }
+
+    private void index(Long id, EmployeeResponseDTO dto) {
+        if (dto.getDepartment() == null) {
+            return;
+        }
+
+        employeesByDepartment.compute(dto.getDepartment().getId(), (departmentId, ids) -> {
+            Set<Long> indexed = ids != null ? ids : ConcurrentHashMap.<Long>newKeySet();
+            indexed.add(id);
+            return indexed;
+        });
+    }
+
+    private void unindex(Long id, EmployeeResponseDTO dto) {
+        if (id == null || dto == null || dto.getDepartment() == null) {
+            return;
+        }
+
+        employeesByDepartment.computeIfPresent(dto.getDepartment().getId(), (departmentId, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // Invalidating before commit would let a concurrent reader re-cache the old row
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                eviction.run();
+            }
+        });
+    }
+}
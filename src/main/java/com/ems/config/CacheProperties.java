@@ -0,0 +1,18 @@
+package com.ems.config;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+    private boolean enabled = true;
+    private long employeeMaximumSize = 10_000;
+    private long departmentMaximumSize = 1_000;
+    private Duration ttl = Duration.ofMinutes(10);
+}
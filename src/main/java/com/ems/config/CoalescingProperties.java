@@ -0,0 +1,16 @@
+package com.ems.config;
+
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.coalescing")
+public class CoalescingProperties {
+    private boolean enabled = true;
+    private Duration maxWait = Duration.ofSeconds(2);
+}
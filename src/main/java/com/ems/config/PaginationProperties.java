@@ -0,0 +1,13 @@
+package com.ems.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+    private int defaultPageSize = 10;
+    private int maxPageSize = 100;
+}
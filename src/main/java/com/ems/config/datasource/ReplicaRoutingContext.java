@@ -0,0 +1,40 @@
+package com.ems.config.datasource;
+
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound flag that pins read-only transactions to the primary, used for read-your-writes
+ * requests and for reads whose result must not reflect replica lag (e.g. cache fills).
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean alreadyPinned = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            return action.get();
+        } finally {
+            if (!alreadyPinned) {
+                clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ems.config.datasource;
+
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Pins whole requests to the primary when they write (any non-GET/HEAD method) or when the client
+ * asks for read-your-writes consistency with the X-Read-Your-Writes header.
+ */
+public class ReplicaRoutingFilter extends OncePerRequestFilter {
+
+    static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean readOnlyMethod = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (!readOnlyMethod || Boolean.parseBoolean(request.getHeader(READ_YOUR_WRITES_HEADER))) {
+            ReplicaRoutingContext.pinToPrimary();
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+}
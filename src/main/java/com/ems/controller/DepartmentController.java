@@ -1,10 +1,21 @@
 package com.ems.controller;
 
 
+import com.ems.dto.DepartmentAnalyticsDTO;
 import com.ems.dto.DepartmentRequestDTO;
 import com.ems.dto.DepartmentResponseDTO;
+import com.ems.dto.DepartmentTransferResultDTO;
+import com.ems.service.DepartmentAnalyticsService;
 import com.ems.service.DepartmentService;
+import com.ems.util.BatchResponse;
+import com.ems.util.ConditionalResponseUtil;
+import com.ems.util.CursorResponse;
+import com.ems.util.DepartmentDeleteMode;
+import com.ems.util.ExportFormat;
+import com.ems.util.FieldSelection;
 import com.ems.util.PageResponse;
+import com.ems.util.ResourceVersion;
+import com.ems.util.TotalMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,9 +26,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,6 +44,7 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final DepartmentAnalyticsService departmentAnalyticsService;
 
     @PostMapping
     @Operation(summary = "Create a new department", description = "Creates a new department with the provided information")
@@ -43,6 +59,25 @@ public class DepartmentController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get departments by IDs", description = "Resolves up to " + BatchResponse.MAX_IDS + " departments in one query; " +
+            "results keep the order of the ids and unknown ids are listed in missingIds")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Departments found, unknown ids reported in missingIds"),
+            @ApiResponse(responseCode = "400", description = "No ids or more than the maximum")
+    })
+    public ResponseEntity<BatchResponse<DepartmentResponseDTO>> getDepartmentsByIds(
+            @Parameter(description = "Comma-separated department IDs") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(departmentService.getDepartmentsByIds(ids));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get departments by IDs (POST)", description = "Same as GET /batch for id lists too long for a URL; " +
+            "the body is a JSON array of ids")
+    public ResponseEntity<BatchResponse<DepartmentResponseDTO>> getDepartmentsByIdsPost(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(departmentService.getDepartmentsByIds(ids));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get department by ID", description = "Retrieves a department by its ID")
     @ApiResponses(value = {
@@ -50,67 +85,142 @@ public class DepartmentController {
             @ApiResponse(responseCode = "404", description = "Department not found")
     })
     public ResponseEntity<DepartmentResponseDTO> getDepartmentById(
-            @Parameter(description = "Department ID") @PathVariable Long id) {
-        DepartmentResponseDTO response = departmentService.getDepartmentById(id);
-        return ResponseEntity.ok(response);
+            @Parameter(description = "Department ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        return ConditionalResponseUtil.respond(webRequest, () -> departmentService.getDepartmentById(id),
+                ResourceVersion::ofDepartment);
     }
 
     @GetMapping
     @Operation(summary = "Get all departments", description = "Retrieves all departments with pagination and sorting")
-    public ResponseEntity<PageResponse<DepartmentResponseDTO>> getAllDepartments(
+    public ResponseEntity<PageResponse<?>> getAllDepartments(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "name") String sortBy,
-            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Total count: exact (default), false (hasNext only) or estimate") @RequestParam(defaultValue = "exact") String withTotal,
+            @Parameter(description = "Comma-separated fields to return (id is always included); only these columns are selected") @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
 
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
+        List<String> fieldList = FieldSelection.parse(fields, FieldSelection.DEPARTMENT_FIELDS);
 
-        PageResponse<DepartmentResponseDTO> response = departmentService.getAllDepartments(pageable);
+        return ConditionalResponseUtil.respond(webRequest, departmentService.getDepartmentsVersion(),
+                () -> fieldList != null
+                        ? departmentService.getAllDepartmentFields(fieldList, pageable, TotalMode.from(withTotal))
+                        : departmentService.getAllDepartments(pageable, TotalMode.from(withTotal)));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all departments by cursor", description = "Retrieves departments with keyset pagination; pass the returned nextCursor to fetch the next page")
+    public ResponseEntity<CursorResponse<DepartmentResponseDTO>> getDepartmentsByCursor(
+            @Parameter(description = "Opaque cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, between 1 and app.pagination.max-page-size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort by field") @RequestParam(defaultValue = "name") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+
+        CursorResponse<DepartmentResponseDTO> response = departmentService.getDepartmentsByCursor(
+                cursor, size, sortBy, sortDir.equalsIgnoreCase("asc"));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search departments", description = "Searches departments by name or location")
-    public ResponseEntity<PageResponse<DepartmentResponseDTO>> searchDepartments(
+    public ResponseEntity<PageResponse<?>> searchDepartments(
             @Parameter(description = "Search keyword") @RequestParam String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Total count: exact (default), false (hasNext only) or estimate") @RequestParam(defaultValue = "exact") String withTotal,
+            @Parameter(description = "Comma-separated fields to return (id is always included); only these columns are selected") @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
 
         Pageable pageable = PageRequest.of(page, size);
-        PageResponse<DepartmentResponseDTO> response = departmentService.searchDepartments(search, pageable);
-        return ResponseEntity.ok(response);
+        List<String> fieldList = FieldSelection.parse(fields, FieldSelection.DEPARTMENT_FIELDS);
+        return ConditionalResponseUtil.respond(webRequest, departmentService.getDepartmentsVersion(),
+                () -> fieldList != null
+                        ? departmentService.searchDepartmentFields(search, fieldList, pageable, TotalMode.from(withTotal))
+                        : departmentService.searchDepartments(search, pageable, TotalMode.from(withTotal)));
     }
 
     @GetMapping("/list")
-    @Operation(summary = "Get all departments list", description = "Retrieves all departments without pagination")
-    public ResponseEntity<List<DepartmentResponseDTO>> getAllDepartmentsList() {
-        List<DepartmentResponseDTO> response = departmentService.getAllDepartmentsList();
+    @Operation(summary = "Get all departments list", description = "Retrieves all departments without pagination; prefer /departments/export for large result sets")
+    public ResponseEntity<List<DepartmentResponseDTO>> getAllDepartmentsList(WebRequest webRequest) {
+        return ConditionalResponseUtil.respond(webRequest, departmentService.getDepartmentsVersion(),
+                departmentService::getAllDepartmentsList);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all departments", description = "Streams all departments as NDJSON or CSV without buffering the result set in memory")
+    public ResponseEntity<StreamingResponseBody> exportDepartments(
+            @Parameter(description = "Export format (ndjson/csv)") @RequestParam(defaultValue = "ndjson") String format) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = outputStream -> departmentService.exportDepartments(exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"departments." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/analytics")
+    @Operation(summary = "Get department analytics", description = "Headcount, salary statistics and hires per month for every department, served from a summary table")
+    public ResponseEntity<List<DepartmentAnalyticsDTO>> getDepartmentAnalytics() {
+        List<DepartmentAnalyticsDTO> response = departmentAnalyticsService.getDepartmentAnalytics();
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/analytics/rebuild")
+    @Operation(summary = "Rebuild department analytics", description = "Recomputes the analytics summary table from the employees table")
+    public ResponseEntity<Void> rebuildDepartmentAnalytics() {
+        departmentAnalyticsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update department", description = "Updates an existing department")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Department updated successfully"),
             @ApiResponse(responseCode = "404", description = "Department not found"),
-            @ApiResponse(responseCode = "409", description = "Department name already exists")
+            @ApiResponse(responseCode = "409", description = "Department name already exists or concurrent update"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     public ResponseEntity<DepartmentResponseDTO> updateDepartment(
             @PathVariable Long id,
-            @Valid @RequestBody DepartmentRequestDTO requestDTO) {
-        DepartmentResponseDTO response = departmentService.updateDepartment(id, requestDTO);
+            @Valid @RequestBody DepartmentRequestDTO requestDTO,
+            @Parameter(description = "ETag of the version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DepartmentResponseDTO response = departmentService.updateDepartment(id, requestDTO, ResourceVersion.parseEntityVersion(ifMatch));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/transfer")
+    @Operation(summary = "Transfer all employees", description = "Moves every employee of the department to another department in one statement")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees transferred"),
+            @ApiResponse(responseCode = "400", description = "Missing or identical target department"),
+            @ApiResponse(responseCode = "404", description = "Department not found")
+    })
+    public ResponseEntity<DepartmentTransferResultDTO> transferEmployees(
+            @PathVariable Long id,
+            @Parameter(description = "Target department ID") @RequestParam("to") Long to) {
+        DepartmentTransferResultDTO response = departmentService.transferEmployees(id, to);
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete department", description = "Deletes a department by its ID")
+    @Operation(summary = "Delete department", description = "Deletes a department by its ID. Its employees are deleted " +
+            "(default), detached (employees=detach) or moved to another department (employees=reassign&to=)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Department deleted successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown mode or missing target department"),
             @ApiResponse(responseCode = "404", description = "Department not found")
     })
-    public ResponseEntity<Void> deleteDepartment(@PathVariable Long id) {
-        departmentService.deleteDepartment(id);
+    public ResponseEntity<Void> deleteDepartment(
+            @PathVariable Long id,
+            @Parameter(description = "What happens to the employees (delete/detach/reassign)") @RequestParam(defaultValue = "delete") String employees,
+            @Parameter(description = "Target department ID for employees=reassign") @RequestParam(required = false) Long to) {
+        departmentService.deleteDepartment(id, DepartmentDeleteMode.from(employees), to);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
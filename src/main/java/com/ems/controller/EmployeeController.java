@@ -1,9 +1,20 @@
 package com.ems.controller;
 
+import com.ems.dto.BulkImportResponseDTO;
+import com.ems.dto.EmployeeFilterDTO;
+import com.ems.dto.EmployeePatchDTO;
 import com.ems.dto.EmployeeRequestDTO;
 import com.ems.dto.EmployeeResponseDTO;
+import com.ems.dto.EmployeeUpsertResultDTO;
 import com.ems.service.EmployeeService;
+import com.ems.util.BatchResponse;
+import com.ems.util.ConditionalResponseUtil;
+import com.ems.util.CursorResponse;
+import com.ems.util.ExportFormat;
+import com.ems.util.FieldSelection;
 import com.ems.util.PageResponse;
+import com.ems.util.ResourceVersion;
+import com.ems.util.TotalMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,10 +25,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -42,6 +61,40 @@ public class EmployeeController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk import employees (JSON)", description = "Creates employees from a JSON array in JDBC batches and reports a result per row")
+    public ResponseEntity<BulkImportResponseDTO> importEmployees(
+            @RequestBody List<EmployeeRequestDTO> requestDTOs) {
+        BulkImportResponseDTO response = employeeService.importEmployees(requestDTOs);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @Operation(summary = "Bulk import employees (CSV)", description = "Creates employees from CSV with a header row (firstName,lastName,email,phone,position,salary,hireDate,departmentId)")
+    public ResponseEntity<BulkImportResponseDTO> importEmployeesCsv(@RequestBody String csv) {
+        BulkImportResponseDTO response = employeeService.importEmployeesCsv(csv);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get employees by IDs", description = "Resolves up to " + BatchResponse.MAX_IDS + " employees in one query; " +
+            "results keep the order of the ids and unknown ids are listed in missingIds")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees found, unknown ids reported in missingIds"),
+            @ApiResponse(responseCode = "400", description = "No ids or more than the maximum")
+    })
+    public ResponseEntity<BatchResponse<EmployeeResponseDTO>> getEmployeesByIds(
+            @Parameter(description = "Comma-separated employee IDs") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get employees by IDs (POST)", description = "Same as GET /batch for id lists too long for a URL; " +
+            "the body is a JSON array of ids")
+    public ResponseEntity<BatchResponse<EmployeeResponseDTO>> getEmployeesByIdsPost(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get employee by ID", description = "Retrieves an employee by their ID")
     @ApiResponses(value = {
@@ -49,50 +102,103 @@ public class EmployeeController {
             @ApiResponse(responseCode = "404", description = "Employee not found")
     })
     public ResponseEntity<EmployeeResponseDTO> getEmployeeById(
-            @Parameter(description = "Employee ID") @PathVariable Long id) {
-        EmployeeResponseDTO response = employeeService.getEmployeeById(id);
-        return ResponseEntity.ok(response);
+            @Parameter(description = "Employee ID") @PathVariable Long id,
+            WebRequest webRequest) {
+        return ConditionalResponseUtil.respond(webRequest, () -> employeeService.getEmployeeById(id),
+                ResourceVersion::ofEmployee);
     }
 
     @GetMapping
     @Operation(summary = "Get all employees", description = "Retrieves all employees with pagination and sorting")
-    public ResponseEntity<PageResponse<EmployeeResponseDTO>> getAllEmployees(
+    public ResponseEntity<PageResponse<?>> getAllEmployees(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "firstName") String sortBy,
-            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Total count: exact (default), false (hasNext only) or estimate") @RequestParam(defaultValue = "exact") String withTotal,
+            @Parameter(description = "Comma-separated fields to return (id is always included); only these columns are selected") @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
 
-        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Sort sort = stableSort(sortBy, sortDir);
         Pageable pageable = PageRequest.of(page, size, sort);
+        List<String> fieldList = FieldSelection.parse(fields, FieldSelection.EMPLOYEE_FIELDS);
+
+        return ConditionalResponseUtil.respond(webRequest, employeeService.getEmployeesVersion(),
+                () -> fieldList != null
+                        ? employeeService.getAllEmployeeFields(fieldList, pageable, TotalMode.from(withTotal))
+                        : employeeService.getAllEmployees(pageable, TotalMode.from(withTotal)));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all employees by cursor", description = "Retrieves employees with keyset pagination; pass the returned nextCursor to fetch the next page")
+    public ResponseEntity<CursorResponse<EmployeeResponseDTO>> getEmployeesByCursor(
+            @Parameter(description = "Opaque cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, between 1 and app.pagination.max-page-size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort by field") @RequestParam(defaultValue = "firstName") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir) {
 
-        PageResponse<EmployeeResponseDTO> response = employeeService.getAllEmployees(pageable);
+        CursorResponse<EmployeeResponseDTO> response = employeeService.getEmployeesByCursor(
+                cursor, size, sortBy, sortDir.equalsIgnoreCase("asc"));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search employees", description = "Searches employees by name, email, or position")
-    public ResponseEntity<PageResponse<EmployeeResponseDTO>> searchEmployees(
+    public ResponseEntity<PageResponse<?>> searchEmployees(
             @Parameter(description = "Search keyword") @RequestParam String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Total count: exact (default), false (hasNext only) or estimate") @RequestParam(defaultValue = "exact") String withTotal,
+            @Parameter(description = "Comma-separated fields to return (id is always included); only these columns are selected") @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
 
         Pageable pageable = PageRequest.of(page, size);
-        PageResponse<EmployeeResponseDTO> response = employeeService.searchEmployees(search, pageable);
-        return ResponseEntity.ok(response);
+        List<String> fieldList = FieldSelection.parse(fields, FieldSelection.EMPLOYEE_FIELDS);
+        return ConditionalResponseUtil.respond(webRequest, employeeService.getEmployeesVersion(),
+                () -> fieldList != null
+                        ? employeeService.searchEmployeeFields(search, fieldList, pageable, TotalMode.from(withTotal))
+                        : employeeService.searchEmployees(search, pageable, TotalMode.from(withTotal)));
     }
 
     @GetMapping("/filter")
-    @Operation(summary = "Filter employees", description = "Filters employees by department, position, or search term")
-    public ResponseEntity<PageResponse<EmployeeResponseDTO>> filterEmployees(
+    @Operation(summary = "Filter employees", description = "Filters employees by departments, position, search term, salary range and hire-date range")
+    public ResponseEntity<PageResponse<?>> filterEmployees(
             @Parameter(description = "Department ID") @RequestParam(required = false) Long departmentId,
+            @Parameter(description = "Department IDs (any of)") @RequestParam(required = false) List<Long> departmentIds,
             @Parameter(description = "Position") @RequestParam(required = false) String position,
             @Parameter(description = "Search keyword") @RequestParam(required = false) String search,
+            @Parameter(description = "Minimum salary") @RequestParam(required = false) BigDecimal minSalary,
+            @Parameter(description = "Maximum salary") @RequestParam(required = false) BigDecimal maxSalary,
+            @Parameter(description = "Hired on or after (yyyy-MM-dd)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+            @Parameter(description = "Hired on or before (yyyy-MM-dd)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredTo,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort by field") @RequestParam(defaultValue = "id") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Total count: exact (default), false (hasNext only) or estimate") @RequestParam(defaultValue = "exact") String withTotal,
+            @Parameter(description = "Comma-separated fields to return (id is always included); only these columns are selected") @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
 
-        Pageable pageable = PageRequest.of(page, size);
-        PageResponse<EmployeeResponseDTO> response = employeeService.filterEmployees(departmentId, position, search, pageable);
-        return ResponseEntity.ok(response);
+        List<Long> departments = new ArrayList<>();
+        if (departmentId != null) {
+            departments.add(departmentId);
+        }
+        if (departmentIds != null) {
+            departments.addAll(departmentIds);
+        }
+
+        EmployeeFilterDTO filter = new EmployeeFilterDTO(departments, position, search,
+                minSalary, maxSalary, hiredFrom, hiredTo);
+        Sort sort = stableSort(sortBy, sortDir);
+        Pageable pageable = PageRequest.of(page, size, sort);
+        List<String> fieldList = FieldSelection.parse(fields, FieldSelection.EMPLOYEE_FIELDS);
+
+        return ConditionalResponseUtil.respond(webRequest, employeeService.getEmployeesVersion(),
+                () -> fieldList != null
+                        ? employeeService.filterEmployeeFields(filter, fieldList, pageable, TotalMode.from(withTotal))
+                        : employeeService.filterEmployees(filter, pageable, TotalMode.from(withTotal)));
     }
 
     @GetMapping("/department/{departmentId}")
@@ -100,18 +206,34 @@ public class EmployeeController {
     public ResponseEntity<PageResponse<EmployeeResponseDTO>> getEmployeesByDepartment(
             @Parameter(description = "Department ID") @PathVariable Long departmentId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Total count: exact (default), false (hasNext only) or estimate") @RequestParam(defaultValue = "exact") String withTotal,
+            WebRequest webRequest) {
 
         Pageable pageable = PageRequest.of(page, size);
-        PageResponse<EmployeeResponseDTO> response = employeeService.getEmployeesByDepartment(departmentId, pageable);
-        return ResponseEntity.ok(response);
+        return ConditionalResponseUtil.respond(webRequest, employeeService.getEmployeesVersion(),
+                () -> employeeService.getEmployeesByDepartment(departmentId, pageable, TotalMode.from(withTotal)));
     }
 
     @GetMapping("/list")
-    @Operation(summary = "Get all employees list", description = "Retrieves all employees without pagination")
-    public ResponseEntity<List<EmployeeResponseDTO>> getAllEmployeesList() {
-        List<EmployeeResponseDTO> response = employeeService.getAllEmployeesList();
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get all employees list", description = "Retrieves all employees without pagination; prefer /employees/export for large result sets")
+    public ResponseEntity<List<EmployeeResponseDTO>> getAllEmployeesList(WebRequest webRequest) {
+        return ConditionalResponseUtil.respond(webRequest, employeeService.getEmployeesVersion(),
+                employeeService::getAllEmployeesList);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all employees", description = "Streams all employees as NDJSON or CSV without buffering the result set in memory")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @Parameter(description = "Export format (ndjson/csv)") @RequestParam(defaultValue = "ndjson") String format) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = outputStream -> employeeService.exportEmployees(exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @PutMapping("/{id}")
@@ -119,12 +241,61 @@ public class EmployeeController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee updated successfully"),
             @ApiResponse(responseCode = "404", description = "Employee not found"),
-            @ApiResponse(responseCode = "409", description = "Employee email already exists")
+            @ApiResponse(responseCode = "409", description = "Employee email already exists or concurrent update"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     public ResponseEntity<EmployeeResponseDTO> updateEmployee(
             @PathVariable Long id,
+            @Valid @RequestBody EmployeeRequestDTO requestDTO,
+            @Parameter(description = "ETag of the version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmployeeResponseDTO response = employeeService.updateEmployee(id, requestDTO, ResourceVersion.parseEntityVersion(ifMatch));
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/by-email/{email}")
+    @Operation(summary = "Create or replace employee by email", description = "Idempotent upsert keyed by the unique email: " +
+            "an existing row is locked and updated in place, otherwise inserted with INSERT ... ON CONFLICT DO NOTHING")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Existing employee replaced"),
+            @ApiResponse(responseCode = "201", description = "Employee created"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or body email differs from the path"),
+            @ApiResponse(responseCode = "404", description = "Department not found"),
+            @ApiResponse(responseCode = "409", description = "Email kept changing concurrently; retry")
+    })
+    public ResponseEntity<EmployeeResponseDTO> upsertEmployeeByEmail(
+            @PathVariable String email,
             @Valid @RequestBody EmployeeRequestDTO requestDTO) {
-        EmployeeResponseDTO response = employeeService.updateEmployee(id, requestDTO);
+        EmployeeUpsertResultDTO result = employeeService.upsertEmployeeByEmail(email, requestDTO);
+        return new ResponseEntity<>(result.getEmployee(), result.isCreated() ? HttpStatus.CREATED : HttpStatus.OK);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update employee", description = "Updates only the supplied fields. With If-Match and " +
+            "'Prefer: return=minimal', a patch of firstName/lastName/phone/position is applied in one conditional UPDATE and answered with 204")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee updated successfully"),
+            @ApiResponse(responseCode = "204", description = "Employee updated, minimal response with the new ETag"),
+            @ApiResponse(responseCode = "404", description = "Employee not found"),
+            @ApiResponse(responseCode = "409", description = "Employee email already exists or concurrent update"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
+    })
+    public ResponseEntity<EmployeeResponseDTO> patchEmployee(
+            @PathVariable Long id,
+            @Valid @RequestBody EmployeePatchDTO patchDTO,
+            @Parameter(description = "ETag of the version being patched") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "return=minimal to skip the response body") @RequestHeader(value = "Prefer", required = false) String prefer) {
+        Long expectedVersion = ResourceVersion.parseEntityVersion(ifMatch);
+
+        if (expectedVersion != null && prefer != null && prefer.contains("return=minimal") && patchDTO.touchesOnlyDetails()) {
+            ResourceVersion version = employeeService.patchEmployeeDetails(id, patchDTO, expectedVersion);
+            return ResponseEntity.noContent()
+                    .eTag(version.getEtag())
+                    .lastModified(version.getLastModified())
+                    .header("Preference-Applied", "return=minimal")
+                    .build();
+        }
+
+        EmployeeResponseDTO response = employeeService.patchEmployee(id, patchDTO, expectedVersion);
         return ResponseEntity.ok(response);
     }
 
@@ -138,4 +309,10 @@ public class EmployeeController {
         employeeService.deleteEmployee(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // id breaks ties so offset pages are stable and the ORDER BY matches the (column, id) indexes from V7
+    private static Sort stableSort(String sortBy, String sortDir) {
+        Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return "id".equals(sortBy) ? Sort.by(direction, "id") : Sort.by(direction, sortBy, "id");
+    }
+}
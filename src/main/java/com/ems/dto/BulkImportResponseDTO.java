@@ -0,0 +1,17 @@
+package com.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponseDTO {
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkImportResultDTO> results;
+}
@@ -0,0 +1,16 @@
+package com.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+    private int row;
+    private String email;
+    private boolean success;
+    private Long id;
+    private String message;
+}
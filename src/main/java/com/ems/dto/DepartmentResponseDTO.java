@@ -25,4 +25,6 @@ public class DepartmentResponseDTO {
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
+
+    private Long version;
 }
\ No newline at end of file
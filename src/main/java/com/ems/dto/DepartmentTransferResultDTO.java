@@ -0,0 +1,15 @@
+package com.ems.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentTransferResultDTO {
+    private Long fromDepartmentId;
+    private Long toDepartmentId;
+    private int transferred;
+}
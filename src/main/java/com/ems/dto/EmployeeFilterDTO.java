@@ -0,0 +1,22 @@
+package com.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeFilterDTO {
+    private List<Long> departmentIds;
+    private String position;
+    private String search;
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+    private LocalDate hiredFrom;
+    private LocalDate hiredTo;
+}
@@ -0,0 +1,52 @@
+package com.ems.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Partial employee update: only non-null fields are applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePatchDTO {
+
+    @Size(min = 2, max = 50, message = "First name must be between 2 and 50 characters")
+    private String firstName;
+
+    @Size(min = 2, max = 50, message = "Last name must be between 2 and 50 characters")
+    private String lastName;
+
+    @Email(message = "Invalid email format")
+    private String email;
+
+    @Pattern(regexp = "^[0-9-+()\\s]*$", message = "Invalid phone number format")
+    private String phone;
+
+    @Size(max = 100, message = "Position cannot exceed 100 characters")
+    private String position;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Salary must be greater than 0")
+    private BigDecimal salary;
+
+    @PastOrPresent(message = "Hire date cannot be in the future")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate hireDate;
+
+    private Long departmentId;
+
+    /**
+     * True when only columns without side effects (uniqueness, department analytics, cached
+     * department counts) are patched, so the change can be applied as one conditional UPDATE.
+     */
+    public boolean touchesOnlyDetails() {
+        return email == null && salary == null && hireDate == null && departmentId == null
+                && (firstName != null || lastName != null || phone != null || position != null);
+    }
+}
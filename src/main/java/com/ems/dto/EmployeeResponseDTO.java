@@ -33,4 +33,17 @@ public class EmployeeResponseDTO {
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    private Long version;
+
+    // Target of the JPQL constructor projections in EmployeeRepository; the department's employee
+    // count is not part of the row and is filled in afterwards with one grouped query per page
+    public EmployeeResponseDTO(Long id, String firstName, String lastName, String email, String phone,
+                               String position, BigDecimal salary, LocalDate hireDate,
+                               Long departmentId, String departmentName, String departmentLocation,
+                               LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, firstName, lastName, email, phone, position, salary, hireDate,
+                departmentId != null ? new DepartmentSummaryDTO(departmentId, departmentName, departmentLocation, 0) : null,
+                createdAt, updatedAt, version);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ems.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeUpsertResultDTO {
+    private boolean created;
+    private EmployeeResponseDTO employee;
+}
@@ -0,0 +1,19 @@
+package com.ems.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyHiresDTO {
+
+    @JsonFormat(pattern = "yyyy-MM")
+    private LocalDate month;
+
+    private long hires;
+}
@@ -0,0 +1,29 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-row change counter for the employees and departments tables, bumped after each committed
+ * write by {@link com.ems.cache.CollectionVersion} and read for the collection ETags.
+ */
+@Entity
+@Immutable
+@Table(name = "data_version")
+@Data
+@NoArgsConstructor
+public class DataVersion {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "department_monthly_hires")
+@IdClass(DepartmentMonthlyHires.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentMonthlyHires {
+
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    // First day of the hire month
+    @Id
+    @Column(name = "hire_month")
+    private LocalDate hireMonth;
+
+    @Column(nullable = false)
+    private long hires;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long departmentId;
+        private LocalDate hireMonth;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-department salary and headcount aggregates, maintained incrementally by
+ * {@link com.ems.service.DepartmentAnalyticsService} and rebuilt on demand.
+ */
+@Entity
+@Table(name = "department_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentStats {
+
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(nullable = false)
+    private long headcount;
+
+    @Column(name = "total_salary", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSalary;
+
+    @Column(name = "salaried_count", nullable = false)
+    private long salariedCount;
+
+    @Column(name = "min_salary", precision = 10, scale = 2)
+    private BigDecimal minSalary;
+
+    @Column(name = "max_salary", precision = 10, scale = 2)
+    private BigDecimal maxSalary;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
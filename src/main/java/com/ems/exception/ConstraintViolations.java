@@ -0,0 +1,40 @@
+package com.ems.exception;
+
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Recognizes unique constraint violations in the cause chain of a persistence exception, so writes can
+ * rely on the database constraints instead of checking for duplicates with a separate query first.
+ */
+public final class ConstraintViolations {
+
+    // SQLSTATE class 23, unique_violation
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean isUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Name of the violated constraint as reported by the database, or null when it is not known.
+     */
+    public static String constraintName(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName();
+            }
+        }
+        return null;
+    }
+}
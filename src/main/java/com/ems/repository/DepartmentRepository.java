@@ -2,25 +2,103 @@ package com.ems.repository;
 
 
 
+import com.ems.dto.DepartmentResponseDTO;
 import com.ems.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {
+public interface DepartmentRepository extends JpaRepository<Department, Long>, DepartmentRepositoryCustom {
 
-    Optional<Department> findByName(String name);
+    String SEARCH_WHERE = " WHERE " +
+            "LOWER(d.name) LIKE '%' || LOWER(:search) || '%' OR " +
+            "LOWER(d.location) LIKE '%' || LOWER(:search) || '%'";
 
-    boolean existsByName(String name);
+    String SEARCH_ORDER = " ORDER BY GREATEST(" +
+            "word_similarity(LOWER(:search), LOWER(d.name)), " +
+            "word_similarity(LOWER(:search), LOWER(d.location))) DESC, d.id";
 
-    @Query("SELECT d FROM Department d WHERE " +
-            "LOWER(d.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(d.location) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Department> searchDepartments(@Param("search") String search, Pageable pageable);
+    @Query("SELECT d.id FROM Department d WHERE d.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Served by the pg_trgm GIN indexes from V2__search_trigram_indexes.sql; best match first
+    @Query(value = "SELECT d.id FROM departments d" + SEARCH_WHERE + SEARCH_ORDER,
+            countQuery = "SELECT COUNT(*) FROM departments d" + SEARCH_WHERE,
+            nativeQuery = true)
+    Page<Long> searchDepartmentIds(@Param("search") String search, Pageable pageable);
+
+    // Slice variants fetch pageSize + 1 rows to compute hasNext and never run the COUNT
+    @Query(value = "SELECT d.id FROM departments d" + SEARCH_WHERE + SEARCH_ORDER, nativeQuery = true)
+    Slice<Long> searchDepartmentIdSlice(@Param("search") String search, Pageable pageable);
+
+    // Employee counts are aggregated in SQL so the lazy employees collection is never initialized
+    @Query(value = "SELECT new com.ems.dto.DepartmentResponseDTO(" +
+            "d.id, d.name, d.description, d.location, CAST(COUNT(e.id) AS Integer), d.createdAt, d.updatedAt, d.version) " +
+            "FROM Department d LEFT JOIN d.employees e " +
+            "GROUP BY d.id, d.name, d.description, d.location, d.createdAt, d.updatedAt, d.version",
+            countQuery = "SELECT COUNT(d) FROM Department d")
+    Page<DepartmentResponseDTO> findAllWithEmployeeCount(Pageable pageable);
+
+    @Query("SELECT new com.ems.dto.DepartmentResponseDTO(" +
+            "d.id, d.name, d.description, d.location, CAST(COUNT(e.id) AS Integer), d.createdAt, d.updatedAt, d.version) " +
+            "FROM Department d LEFT JOIN d.employees e " +
+            "GROUP BY d.id, d.name, d.description, d.location, d.createdAt, d.updatedAt, d.version")
+    Slice<DepartmentResponseDTO> findSliceWithEmployeeCount(Pageable pageable);
+
+    // Planner estimate maintained by ANALYZE/autovacuum; -1 when the table has never been analyzed
+    @Query(value = "SELECT CAST(c.reltuples AS bigint) FROM pg_class c WHERE c.oid = CAST('departments' AS regclass)",
+            nativeQuery = true)
+    long estimateCount();
+
+    @Query("SELECT new com.ems.dto.DepartmentResponseDTO(" +
+            "d.id, d.name, d.description, d.location, CAST(COUNT(e.id) AS Integer), d.createdAt, d.updatedAt, d.version) " +
+            "FROM Department d LEFT JOIN d.employees e WHERE d.id IN :ids " +
+            "GROUP BY d.id, d.name, d.description, d.location, d.createdAt, d.updatedAt, d.version")
+    List<DepartmentResponseDTO> findAllWithEmployeeCountByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.ems.dto.DepartmentResponseDTO(" +
+            "d.id, d.name, d.description, d.location, CAST(COUNT(e.id) AS Integer), d.createdAt, d.updatedAt, d.version) " +
+            "FROM Department d LEFT JOIN d.employees e " +
+            "GROUP BY d.id, d.name, d.description, d.location, d.createdAt, d.updatedAt, d.version")
+    List<DepartmentResponseDTO> findAllListWithEmployeeCount();
+
+    @Query("SELECT new com.ems.dto.DepartmentResponseDTO(" +
+            "d.id, d.name, d.description, d.location, CAST(COUNT(e.id) AS Integer), d.createdAt, d.updatedAt, d.version) " +
+            "FROM Department d LEFT JOIN d.employees e WHERE d.id = :id " +
+            "GROUP BY d.id, d.name, d.description, d.location, d.createdAt, d.updatedAt, d.version")
+    Optional<DepartmentResponseDTO> findByIdWithEmployeeCount(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.ems.dto.DepartmentResponseDTO(" +
+            "d.id, d.name, d.description, d.location, CAST(COUNT(e.id) AS Integer), d.createdAt, d.updatedAt, d.version) " +
+            "FROM Department d LEFT JOIN d.employees e " +
+            "GROUP BY d.id, d.name, d.description, d.location, d.createdAt, d.updatedAt, d.version ORDER BY d.id")
+    Stream<DepartmentResponseDTO> streamAllWithEmployeeCount();
+
+    // Collection version for conditional GETs; CollectionVersion bumps it after every employee or department write
+    @Query("SELECT v.version, v.updatedAt FROM DataVersion v WHERE v.id = 1")
+    List<Object[]> findDataVersion();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "data_version"))
+    @Query(value = "UPDATE data_version SET version = version + 1, updated_at = now() WHERE id = 1", nativeQuery = true)
+    int bumpDataVersion();
+
+    @Query("SELECT COUNT(e) FROM Employee e WHERE e.department.id = :departmentId")
+    long countEmployees(@Param("departmentId") Long departmentId);
 }
\ No newline at end of file
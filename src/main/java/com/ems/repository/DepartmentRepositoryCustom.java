@@ -0,0 +1,25 @@
+package com.ems.repository;
+
+
+import com.ems.dto.DepartmentResponseDTO;
+import com.ems.util.CursorUtil;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface DepartmentRepositoryCustom {
+
+    List<DepartmentResponseDTO> findDepartmentsAfter(String sortBy, boolean ascending, CursorUtil.Cursor after, int limit);
+
+    // Sparse fieldsets: tuple elements are aliased with the field name; "employeeCount" adds the
+    // employees join and GROUP BY, which are otherwise omitted
+    Page<Tuple> findFields(List<String> fields, Pageable pageable);
+
+    Slice<Tuple> findFieldSlice(List<String> fields, Pageable pageable);
+
+    List<Tuple> findFieldsByIdIn(List<String> fields, Collection<Long> ids);
+}
@@ -0,0 +1,133 @@
+package com.ems.repository;
+
+
+import com.ems.dto.DepartmentResponseDTO;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.util.CursorUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class DepartmentRepositoryImpl implements DepartmentRepositoryCustom {
+
+    // Only non-null columns can be used as keyset sort keys
+    private static final Map<String, Class<?>> KEYSET_FIELDS = Map.of(
+            "id", Long.class,
+            "name", String.class,
+            "createdAt", LocalDateTime.class,
+            "updatedAt", LocalDateTime.class
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DepartmentResponseDTO> findDepartmentsAfter(String sortBy, boolean ascending, CursorUtil.Cursor after, int limit) {
+        Class<?> keyType = KEYSET_FIELDS.get(sortBy);
+        if (keyType == null) {
+            throw new IllegalStateException("Cursor pagination is not supported for sort field: " + sortBy);
+        }
+
+        String direction = ascending ? "ASC" : "DESC";
+        String comparator = ascending ? ">" : "<";
+        boolean sortById = "id".equals(sortBy);
+
+        StringBuilder jpql = new StringBuilder("SELECT new com.ems.dto.DepartmentResponseDTO(" +
+                "d.id, d.name, d.description, d.location, CAST(COUNT(e.id) AS Integer), d.createdAt, d.updatedAt, d.version) " +
+                "FROM Department d LEFT JOIN d.employees e");
+        if (after != null) {
+            jpql.append(sortById
+                    ? " WHERE d.id " + comparator + " :lastId"
+                    : " WHERE (d." + sortBy + ", d.id) " + comparator + " (:lastValue, :lastId)");
+        }
+        jpql.append(" GROUP BY d.id, d.name, d.description, d.location, d.createdAt, d.updatedAt, d.version");
+        jpql.append(sortById
+                ? " ORDER BY d.id " + direction
+                : " ORDER BY d." + sortBy + " " + direction + ", d.id " + direction);
+
+        TypedQuery<DepartmentResponseDTO> query = entityManager.createQuery(jpql.toString(), DepartmentResponseDTO.class);
+        if (after != null) {
+            query.setParameter("lastId", after.getLastId());
+            if (!sortById) {
+                query.setParameter("lastValue", CursorUtil.convert(after.getLastValue(), keyType));
+            }
+        }
+
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Page<Tuple> findFields(List<String> fields, Pageable pageable) {
+        List<Tuple> content = createFieldQuery(fields, null, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> entityManager.createQuery("SELECT COUNT(d) FROM Department d", Long.class).getSingleResult());
+    }
+
+    @Override
+    public Slice<Tuple> findFieldSlice(List<String> fields, Pageable pageable) {
+        List<Tuple> tuples = createFieldQuery(fields, null, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = tuples.size() > pageable.getPageSize();
+
+        return new SliceImpl<>(hasNext ? tuples.subList(0, pageable.getPageSize()) : tuples, pageable, hasNext);
+    }
+
+    @Override
+    public List<Tuple> findFieldsByIdIn(List<String> fields, Collection<Long> ids) {
+        return createFieldQuery(fields, ids, Sort.unsorted()).getResultList();
+    }
+
+    // Selects only the requested columns; employees are joined and grouped only for employeeCount.
+    // Grouping by the primary key lets PostgreSQL accept every other departments column ungrouped
+    private TypedQuery<Tuple> createFieldQuery(List<String> fields, Collection<Long> ids, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+        Root<Department> root = criteria.from(Department.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            if ("employeeCount".equals(field)) {
+                Join<Department, Employee> employees = root.join("employees", JoinType.LEFT);
+                selections.add(builder.count(employees.get("id")).alias(field));
+                criteria.groupBy(root.get("id"));
+            } else {
+                selections.add(root.get(field).alias(field));
+            }
+        }
+        criteria.multiselect(selections);
+
+        if (ids != null) {
+            criteria.where(root.get("id").in(ids));
+        }
+        criteria.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return entityManager.createQuery(criteria);
+    }
+}
@@ -0,0 +1,144 @@
+package com.ems.repository;
+
+
+import com.ems.entity.DepartmentMonthlyHires;
+import com.ems.entity.DepartmentStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DepartmentStatsRepository extends JpaRepository<DepartmentStats, Long> {
+
+    // Native writes declare the table they touch; otherwise Hibernate clears every second-level cache region
+
+    // Adds (or, with negative deltas, subtracts) employees to a department's aggregates in one upsert
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_stats"))
+    @Query(value = "INSERT INTO department_stats " +
+            "(department_id, headcount, total_salary, salaried_count, updated_at) " +
+            "VALUES (:departmentId, :headcount, :totalSalary, :salariedCount, now()) " +
+            "ON CONFLICT (department_id) DO UPDATE SET " +
+            "headcount = department_stats.headcount + EXCLUDED.headcount, " +
+            "total_salary = department_stats.total_salary + EXCLUDED.total_salary, " +
+            "salaried_count = department_stats.salaried_count + EXCLUDED.salaried_count, " +
+            "updated_at = now()",
+            nativeQuery = true)
+    void applyDelta(@Param("departmentId") Long departmentId,
+                    @Param("headcount") long headcount,
+                    @Param("totalSalary") BigDecimal totalSalary,
+                    @Param("salariedCount") long salariedCount);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_stats"))
+    @Query(value = "UPDATE department_stats SET " +
+            "min_salary = LEAST(min_salary, :minSalary), " +
+            "max_salary = GREATEST(max_salary, :maxSalary) " +
+            "WHERE department_id = :departmentId",
+            nativeQuery = true)
+    void widenSalaryBounds(@Param("departmentId") Long departmentId,
+                           @Param("minSalary") BigDecimal minSalary,
+                           @Param("maxSalary") BigDecimal maxSalary);
+
+    // MIN/MAX cannot be decremented; rescan the department only when a boundary salary was removed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_stats"))
+    @Query(value = "UPDATE department_stats SET " +
+            "min_salary = (SELECT MIN(e.salary) FROM employees e WHERE e.department_id = :departmentId), " +
+            "max_salary = (SELECT MAX(e.salary) FROM employees e WHERE e.department_id = :departmentId), " +
+            "updated_at = now() " +
+            "WHERE department_id = :departmentId AND (min_salary >= :salary OR max_salary <= :salary)",
+            nativeQuery = true)
+    void refreshSalaryBounds(@Param("departmentId") Long departmentId, @Param("salary") BigDecimal salary);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_monthly_hires"))
+    @Query(value = "INSERT INTO department_monthly_hires (department_id, hire_month, hires) " +
+            "VALUES (:departmentId, CAST(date_trunc('month', CAST(:hireDate AS date)) AS date), :hires) " +
+            "ON CONFLICT (department_id, hire_month) DO UPDATE SET " +
+            "hires = department_monthly_hires.hires + EXCLUDED.hires",
+            nativeQuery = true)
+    void applyHiresDelta(@Param("departmentId") Long departmentId,
+                         @Param("hireDate") LocalDate hireDate,
+                         @Param("hires") long hires);
+
+    // Full rebuild is run by DepartmentAnalyticsService in one transaction after lockEmployeesForRebuild()
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees"))
+    @Query(value = "LOCK TABLE employees IN SHARE MODE", nativeQuery = true)
+    void lockEmployeesForRebuild();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_stats"))
+    @Query(value = "DELETE FROM department_stats", nativeQuery = true)
+    void deleteAllStats();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_stats"))
+    @Query(value = "INSERT INTO department_stats " +
+            "(department_id, headcount, total_salary, salaried_count, min_salary, max_salary, updated_at) " +
+            "SELECT department_id, COUNT(*), COALESCE(SUM(salary), 0), COUNT(salary), MIN(salary), MAX(salary), now() " +
+            "FROM employees WHERE department_id IS NOT NULL GROUP BY department_id",
+            nativeQuery = true)
+    void insertStatsFromEmployees();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_monthly_hires"))
+    @Query(value = "DELETE FROM department_monthly_hires", nativeQuery = true)
+    void deleteAllMonthlyHires();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_monthly_hires"))
+    @Query(value = "INSERT INTO department_monthly_hires (department_id, hire_month, hires) " +
+            "SELECT department_id, CAST(date_trunc('month', hire_date) AS date), COUNT(*) " +
+            "FROM employees WHERE department_id IS NOT NULL AND hire_date IS NOT NULL " +
+            "GROUP BY department_id, CAST(date_trunc('month', hire_date) AS date)",
+            nativeQuery = true)
+    void insertMonthlyHiresFromEmployees();
+
+    // Per-department recompute after set-based employee moves; same statements as the full rebuild
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_stats"))
+    @Query(value = "DELETE FROM department_stats WHERE department_id IN (:departmentIds)", nativeQuery = true)
+    void deleteStats(@Param("departmentIds") Collection<Long> departmentIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_stats"))
+    @Query(value = "INSERT INTO department_stats " +
+            "(department_id, headcount, total_salary, salaried_count, min_salary, max_salary, updated_at) " +
+            "SELECT department_id, COUNT(*), COALESCE(SUM(salary), 0), COUNT(salary), MIN(salary), MAX(salary), now() " +
+            "FROM employees WHERE department_id IN (:departmentIds) GROUP BY department_id",
+            nativeQuery = true)
+    void insertStatsFromEmployees(@Param("departmentIds") Collection<Long> departmentIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_monthly_hires"))
+    @Query(value = "DELETE FROM department_monthly_hires WHERE department_id IN (:departmentIds)", nativeQuery = true)
+    void deleteMonthlyHires(@Param("departmentIds") Collection<Long> departmentIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "department_monthly_hires"))
+    @Query(value = "INSERT INTO department_monthly_hires (department_id, hire_month, hires) " +
+            "SELECT department_id, CAST(date_trunc('month', hire_date) AS date), COUNT(*) " +
+            "FROM employees WHERE department_id IN (:departmentIds) AND hire_date IS NOT NULL " +
+            "GROUP BY department_id, CAST(date_trunc('month', hire_date) AS date)",
+            nativeQuery = true)
+    void insertMonthlyHiresFromEmployees(@Param("departmentIds") Collection<Long> departmentIds);
+
+    @Query("SELECT d.id, d.name, s FROM Department d LEFT JOIN DepartmentStats s ON s.departmentId = d.id " +
+            "ORDER BY d.name")
+    List<Object[]> findAllDepartmentStats();
+
+    @Query("SELECT h FROM DepartmentMonthlyHires h WHERE h.hires > 0 ORDER BY h.departmentId, h.hireMonth")
+    List<DepartmentMonthlyHires> findAllMonthlyHires();
+}
@@ -3,47 +3,212 @@ package com.ems.repository;
 
 
 
+import com.ems.dto.EmployeeResponseDTO;
+import com.ems.entity.Department;
 import com.ems.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeRepositoryCustom {
+
+    String SEARCH_WHERE = " WHERE " +
+            "LOWER(e.first_name) LIKE '%' || LOWER(:search) || '%' OR " +
+            "LOWER(e.last_name) LIKE '%' || LOWER(:search) || '%' OR " +
+            "LOWER(e.email) LIKE '%' || LOWER(:search) || '%' OR " +
+            "LOWER(e.position) LIKE '%' || LOWER(:search) || '%'";
+
+    String SEARCH_ORDER = " ORDER BY GREATEST(" +
+            "word_similarity(LOWER(:search), LOWER(e.first_name)), " +
+            "word_similarity(LOWER(:search), LOWER(e.last_name)), " +
+            "word_similarity(LOWER(:search), LOWER(e.email)), " +
+            "word_similarity(LOWER(:search), LOWER(e.position))) DESC, e.id";
+
+    // Exactly the columns of EmployeeResponseDTO; the department summary comes from the outer join
+    String VIEW_SELECT = "SELECT new com.ems.dto.EmployeeResponseDTO(" +
+            "e.id, e.firstName, e.lastName, e.email, e.phone, e.position, e.salary, e.hireDate, " +
+            "d.id, d.name, d.location, e.createdAt, e.updatedAt, e.version) " +
+            "FROM Employee e LEFT JOIN e.department d";
 
     Optional<Employee> findByEmail(String email);
 
-    boolean existsByEmail(String email);
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 
     List<Employee> findByDepartmentId(Long departmentId);
 
-    @Query("SELECT e FROM Employee e WHERE e.department.id = :departmentId")
-    Page<Employee> findByDepartmentId(@Param("departmentId") Long departmentId, Pageable pageable);
-
-    @Query("SELECT e FROM Employee e WHERE " +
-            "LOWER(e.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(e.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(e.position) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Employee> searchEmployees(@Param("search") String search, Pageable pageable);
-
-    @Query("SELECT e FROM Employee e WHERE " +
-            "(:departmentId IS NULL OR e.department.id = :departmentId) AND " +
-            "(:position IS NULL OR LOWER(e.position) = LOWER(:position)) AND " +
-            "(COALESCE(:search, '') = '' OR " +
-            "LOWER(e.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(e.email) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Employee> filterEmployees(
-            @Param("departmentId") Long departmentId,
-            @Param("position") String position,
-            @Param("search") String search,
-            Pageable pageable
-    );
+    // Write paths load the entity with its department in the same SELECT
+    @Override
+    @EntityGraph(attributePaths = "department")
+    Optional<Employee> findById(Long id);
+
+    // Read paths select the response columns straight into DTOs: nothing enters the persistence
+    // context, so there are no entity snapshots and nothing to dirty-check or flush
+    @Query(VIEW_SELECT + " WHERE e.id = :id")
+    Optional<EmployeeResponseDTO> findViewById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT)
+    List<EmployeeResponseDTO> findAllViews();
+
+    @Query(value = VIEW_SELECT, countQuery = "SELECT COUNT(e) FROM Employee e")
+    Page<EmployeeResponseDTO> findAllViews(Pageable pageable);
+
+    @Query(value = VIEW_SELECT + " WHERE e.department.id = :departmentId",
+            countQuery = "SELECT COUNT(e) FROM Employee e WHERE e.department.id = :departmentId")
+    Page<EmployeeResponseDTO> findViewsByDepartmentId(@Param("departmentId") Long departmentId, Pageable pageable);
+
+    // Served by the pg_trgm GIN indexes from V2__search_trigram_indexes.sql; best match first
+    @Query(value = "SELECT e.id FROM employees e" + SEARCH_WHERE + SEARCH_ORDER,
+            countQuery = "SELECT COUNT(*) FROM employees e" + SEARCH_WHERE,
+            nativeQuery = true)
+    Page<Long> searchEmployeeIds(@Param("search") String search, Pageable pageable);
+
+    // Slice variants fetch pageSize + 1 rows to compute hasNext and never run the COUNT
+    @Query(value = "SELECT e.id FROM employees e" + SEARCH_WHERE + SEARCH_ORDER, nativeQuery = true)
+    Slice<Long> searchEmployeeIdSlice(@Param("search") String search, Pageable pageable);
+
+    @Query(VIEW_SELECT)
+    Slice<EmployeeResponseDTO> findAllViewSlice(Pageable pageable);
+
+    @Query(VIEW_SELECT + " WHERE e.department.id = :departmentId")
+    Slice<EmployeeResponseDTO> findViewSliceByDepartmentId(@Param("departmentId") Long departmentId, Pageable pageable);
+
+    // Planner estimate maintained by ANALYZE/autovacuum; -1 when the table has never been analyzed
+    @Query(value = "SELECT CAST(c.reltuples AS bigint) FROM pg_class c WHERE c.oid = CAST('employees' AS regclass)",
+            nativeQuery = true)
+    long estimateCount();
+
+    @Query(VIEW_SELECT + " WHERE e.id IN :ids")
+    List<EmployeeResponseDTO> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Returns [departmentId, employeeCount] pairs for every department on a page in one statement
+    @Query("SELECT e.department.id, COUNT(e) FROM Employee e " +
+            "WHERE e.department.id IN :departmentIds GROUP BY e.department.id")
+    List<Object[]> countByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+
+    // Set-based department moves; they bump version/updatedAt so ETags and collection versions change
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.department = :target, e.updatedAt = :updatedAt, e.version = e.version + 1 " +
+            "WHERE e.department.id = :departmentId")
+    int reassignDepartment(@Param("departmentId") Long departmentId,
+                           @Param("target") Department target,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.department = NULL, e.updatedAt = :updatedAt, e.version = e.version + 1 " +
+            "WHERE e.department.id = :departmentId")
+    int detachDepartment(@Param("departmentId") Long departmentId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Employee e WHERE e.department.id = :departmentId")
+    int deleteAllByDepartmentId(@Param("departmentId") Long departmentId);
+
+    // Conditional single-statement PATCH of columns with no side effects; 0 rows means missing or stale version
+    @Modifying
+    @Query("UPDATE Employee e SET " +
+            "e.firstName = COALESCE(:firstName, e.firstName), " +
+            "e.lastName = COALESCE(:lastName, e.lastName), " +
+            "e.phone = COALESCE(:phone, e.phone), " +
+            "e.position = COALESCE(:position, e.position), " +
+            "e.updatedAt = :updatedAt, " +
+            "e.version = e.version + 1 " +
+            "WHERE e.id = :id AND e.version = :version")
+    int updateDetailsIfVersion(@Param("id") Long id,
+                               @Param("version") long version,
+                               @Param("firstName") String firstName,
+                               @Param("lastName") String lastName,
+                               @Param("phone") String phone,
+                               @Param("position") String position,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Locks the employee with this email, waiting for in-flight writers; returns [id, departmentId] or nothing
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees"))
+    @Query(value = "SELECT id, department_id FROM employees WHERE email = :email FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockByEmail(@Param("email") String email);
+
+    // Returns the new id, or nothing when another transaction inserted the email first
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees"))
+    @Query(value = "INSERT INTO employees (first_name, last_name, email, phone, position, salary, hire_date, " +
+            "department_id, created_at, updated_at, version) " +
+            "VALUES (:firstName, :lastName, :email, CAST(:phone AS varchar), CAST(:position AS varchar), " +
+            "CAST(:salary AS numeric), CAST(:hireDate AS date), CAST(:departmentId AS bigint), :now, :now, 0) " +
+            "ON CONFLICT (email) DO NOTHING RETURNING id",
+            nativeQuery = true)
+    List<Long> insertByEmailIfAbsent(@Param("email") String email,
+                                     @Param("firstName") String firstName,
+                                     @Param("lastName") String lastName,
+                                     @Param("phone") String phone,
+                                     @Param("position") String position,
+                                     @Param("salary") BigDecimal salary,
+                                     @Param("hireDate") LocalDate hireDate,
+                                     @Param("departmentId") Long departmentId,
+                                     @Param("now") LocalDateTime now);
+
+    // Full replace of a row already locked by lockByEmail; a plain UPDATE draws no value from employees_id_seq
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees"))
+    @Query(value = "UPDATE employees SET first_name = :firstName, last_name = :lastName, " +
+            "phone = CAST(:phone AS varchar), position = CAST(:position AS varchar), " +
+            "salary = CAST(:salary AS numeric), hire_date = CAST(:hireDate AS date), " +
+            "department_id = CAST(:departmentId AS bigint), updated_at = :now, version = version + 1 " +
+            "WHERE id = :id",
+            nativeQuery = true)
+    int replaceById(@Param("id") Long id,
+                    @Param("firstName") String firstName,
+                    @Param("lastName") String lastName,
+                    @Param("phone") String phone,
+                    @Param("position") String position,
+                    @Param("salary") BigDecimal salary,
+                    @Param("hireDate") LocalDate hireDate,
+                    @Param("departmentId") Long departmentId,
+                    @Param("now") LocalDateTime now);
+
+    // Replaces the employee with this email (or inserts it); returns the id
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees"))
+    @Query(value = INSERT_BY_EMAIL + "DO UPDATE SET " +
+            "first_name = EXCLUDED.first_name, last_name = EXCLUDED.last_name, phone = EXCLUDED.phone, " +
+            "position = EXCLUDED.position, salary = EXCLUDED.salary, hire_date = EXCLUDED.hire_date, " +
+            "department_id = EXCLUDED.department_id, updated_at = EXCLUDED.updated_at, " +
+            "version = employees.version + 1 " +
+            "RETURNING id",
+            nativeQuery = true)
+    List<Long> upsertByEmail(@Param("email") String email,
+                             @Param("firstName") String firstName,
+                             @Param("lastName") String lastName,
+                             @Param("phone") String phone,
+                             @Param("position") String position,
+                             @Param("salary") BigDecimal salary,
+                             @Param("hireDate") LocalDate hireDate,
+                             @Param("departmentId") Long departmentId,
+                             @Param("now") LocalDateTime now);
+
+    @Query("SELECT e.department.id, COUNT(e) FROM Employee e " +
+            "WHERE e.department IS NOT NULL GROUP BY e.department.id")
+    List<Object[]> countAllByDepartment();
+
+    // Server-side cursor for exports; must be consumed inside a transaction and closed afterwards
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(VIEW_SELECT + " ORDER BY e.id")
+    Stream<EmployeeResponseDTO> streamAllViews();
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.ems.repository;
+
+
+import com.ems.dto.EmployeeResponseDTO;
+import com.ems.entity.Employee;
+import com.ems.util.CursorUtil;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface EmployeeRepositoryCustom {
+
+    List<EmployeeResponseDTO> findEmployeesAfter(String sortBy, boolean ascending, CursorUtil.Cursor after, int limit);
+
+    Page<EmployeeResponseDTO> findViews(Specification<Employee> specification, Pageable pageable);
+
+    Slice<EmployeeResponseDTO> findViewSlice(Specification<Employee> specification, Pageable pageable);
+
+    // Sparse fieldsets: tuple elements are aliased with the field name; "department" selects
+    // departmentId, departmentName and departmentLocation through a join that is otherwise omitted
+    Page<Tuple> findFields(Specification<Employee> specification, List<String> fields, Pageable pageable);
+
+    Slice<Tuple> findFieldSlice(Specification<Employee> specification, List<String> fields, Pageable pageable);
+
+    List<Tuple> findFields(Specification<Employee> specification, List<String> fields, Sort sort);
+}
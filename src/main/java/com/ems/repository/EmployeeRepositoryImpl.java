@@ -0,0 +1,189 @@
+package com.ems.repository;
+
+
+import com.ems.dto.EmployeeResponseDTO;
+import com.ems.entity.Department;
+import com.ems.entity.Employee;
+import com.ems.util.CursorUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    // Only non-null columns can be used as keyset sort keys
+    private static final Map<String, Class<?>> KEYSET_FIELDS = Map.of(
+            "id", Long.class,
+            "firstName", String.class,
+            "lastName", String.class,
+            "email", String.class,
+            "createdAt", LocalDateTime.class,
+            "updatedAt", LocalDateTime.class
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmployeeResponseDTO> findEmployeesAfter(String sortBy, boolean ascending, CursorUtil.Cursor after, int limit) {
+        Class<?> keyType = KEYSET_FIELDS.get(sortBy);
+        if (keyType == null) {
+            throw new IllegalStateException("Cursor pagination is not supported for sort field: " + sortBy);
+        }
+
+        String direction = ascending ? "ASC" : "DESC";
+        String comparator = ascending ? ">" : "<";
+        boolean sortById = "id".equals(sortBy);
+
+        StringBuilder jpql = new StringBuilder(EmployeeRepository.VIEW_SELECT);
+        if (after != null) {
+            jpql.append(sortById
+                    ? " WHERE e.id " + comparator + " :lastId"
+                    : " WHERE (e." + sortBy + ", e.id) " + comparator + " (:lastValue, :lastId)");
+        }
+        jpql.append(sortById
+                ? " ORDER BY e.id " + direction
+                : " ORDER BY e." + sortBy + " " + direction + ", e.id " + direction);
+
+        TypedQuery<EmployeeResponseDTO> query = entityManager.createQuery(jpql.toString(), EmployeeResponseDTO.class);
+        if (after != null) {
+            query.setParameter("lastId", after.getLastId());
+            if (!sortById) {
+                query.setParameter("lastValue", CursorUtil.convert(after.getLastValue(), keyType));
+            }
+        }
+
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    // JpaSpecificationExecutor can only return entities; these run the same filters as DTO projections
+    @Override
+    public Page<EmployeeResponseDTO> findViews(Specification<Employee> specification, Pageable pageable) {
+        List<EmployeeResponseDTO> content = createViewQuery(specification, pageable)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<EmployeeResponseDTO> findViewSlice(Specification<Employee> specification, Pageable pageable) {
+        List<EmployeeResponseDTO> employees = createViewQuery(specification, pageable)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = employees.size() > pageable.getPageSize();
+
+        return new SliceImpl<>(hasNext ? employees.subList(0, pageable.getPageSize()) : employees, pageable, hasNext);
+    }
+
+    private TypedQuery<EmployeeResponseDTO> createViewQuery(Specification<Employee> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeResponseDTO> criteria = builder.createQuery(EmployeeResponseDTO.class);
+        Root<Employee> root = criteria.from(Employee.class);
+        Join<Employee, Department> department = root.join("department", JoinType.LEFT);
+
+        criteria.select(builder.construct(EmployeeResponseDTO.class,
+                root.get("id"), root.get("firstName"), root.get("lastName"), root.get("email"),
+                root.get("phone"), root.get("position"), root.get("salary"), root.get("hireDate"),
+                department.get("id"), department.get("name"), department.get("location"),
+                root.get("createdAt"), root.get("updatedAt"), root.get("version")));
+
+        Predicate predicate = specification != null ? specification.toPredicate(root, criteria, builder) : null;
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        criteria.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        return entityManager.createQuery(criteria);
+    }
+
+    @Override
+    public Page<Tuple> findFields(Specification<Employee> specification, List<String> fields, Pageable pageable) {
+        List<Tuple> content = createFieldQuery(specification, fields, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<Tuple> findFieldSlice(Specification<Employee> specification, List<String> fields, Pageable pageable) {
+        List<Tuple> tuples = createFieldQuery(specification, fields, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = tuples.size() > pageable.getPageSize();
+
+        return new SliceImpl<>(hasNext ? tuples.subList(0, pageable.getPageSize()) : tuples, pageable, hasNext);
+    }
+
+    @Override
+    public List<Tuple> findFields(Specification<Employee> specification, List<String> fields, Sort sort) {
+        return createFieldQuery(specification, fields, sort).getResultList();
+    }
+
+    // Selects only the requested columns; the department join is added only when it is requested
+    private TypedQuery<Tuple> createFieldQuery(Specification<Employee> specification, List<String> fields, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+        Root<Employee> root = criteria.from(Employee.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 2);
+        for (String field : fields) {
+            if ("department".equals(field)) {
+                Join<Employee, Department> department = root.join("department", JoinType.LEFT);
+                selections.add(department.get("id").alias("departmentId"));
+                selections.add(department.get("name").alias("departmentName"));
+                selections.add(department.get("location").alias("departmentLocation"));
+            } else {
+                selections.add(root.get(field).alias(field));
+            }
+        }
+        criteria.multiselect(selections);
+
+        Predicate predicate = specification != null ? specification.toPredicate(root, criteria, builder) : null;
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        criteria.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return entityManager.createQuery(criteria);
+    }
+
+    private long count(Specification<Employee> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<Employee> root = criteria.from(Employee.class);
+
+        Predicate predicate = specification != null ? specification.toPredicate(root, criteria, builder) : null;
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+
+        return entityManager.createQuery(criteria.select(builder.count(root))).getSingleResult();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ems.repository;
+
+
+import com.ems.dto.EmployeeFilterDTO;
+import com.ems.entity.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Builds employee filter predicates. Only the filters actually supplied become SQL predicates,
+ * so each combination gets its own plan and can use the matching index.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> fromFilter(EmployeeFilterDTO filter) {
+        List<Specification<Employee>> specifications = new ArrayList<>();
+
+        if (filter.getDepartmentIds() != null && !filter.getDepartmentIds().isEmpty()) {
+            specifications.add(inDepartments(filter.getDepartmentIds()));
+        }
+        if (hasText(filter.getPosition())) {
+            specifications.add(hasPosition(filter.getPosition()));
+        }
+        if (hasText(filter.getSearch())) {
+            specifications.add(matchesSearch(filter.getSearch()));
+        }
+        if (filter.getMinSalary() != null || filter.getMaxSalary() != null) {
+            specifications.add(salaryBetween(filter.getMinSalary(), filter.getMaxSalary()));
+        }
+        if (filter.getHiredFrom() != null || filter.getHiredTo() != null) {
+            specifications.add(hiredBetween(filter.getHiredFrom(), filter.getHiredTo()));
+        }
+
+        return Specification.allOf(specifications);
+    }
+
+    public static Specification<Employee> inDepartments(Collection<Long> departmentIds) {
+        return (root, query, cb) -> departmentIds.size() == 1
+                ? cb.equal(root.get("department").get("id"), departmentIds.iterator().next())
+                : root.get("department").get("id").in(departmentIds);
+    }
+
+    public static Specification<Employee> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Employee> hasPosition(String position) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("position")), position.toLowerCase());
+    }
+
+    public static Specification<Employee> matchesSearch(String search) {
+        return (root, query, cb) -> {
+            String pattern = "%" + search.toLowerCase() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("firstName")), pattern),
+                    cb.like(cb.lower(root.get("lastName")), pattern),
+                    cb.like(cb.lower(root.get("email")), pattern)
+            );
+        };
+    }
+
+    public static Specification<Employee> salaryBetween(BigDecimal min, BigDecimal max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get("salary"), min, max);
+            }
+            return min != null
+                    ? cb.greaterThanOrEqualTo(root.get("salary"), min)
+                    : cb.lessThanOrEqualTo(root.get("salary"), max);
+        };
+    }
+
+    public static Specification<Employee> hiredBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("hireDate"), from, to);
+            }
+            return from != null
+                    ? cb.greaterThanOrEqualTo(root.get("hireDate"), from)
+                    : cb.lessThanOrEqualTo(root.get("hireDate"), to);
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,26 @@
+package com.ems.service;
+
+import com.ems.dto.DepartmentAnalyticsDTO;
+import com.ems.entity.Employee;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DepartmentAnalyticsService {
+
+    List<DepartmentAnalyticsDTO> getDepartmentAnalytics();
+
+    void rebuild();
+
+    void employeesAdded(Collection<Employee> employees);
+
+    void employeeRemoved(Long departmentId, BigDecimal salary, LocalDate hireDate);
+
+    /**
+     * Recomputes the given departments from the employees table, for set-based moves where
+     * per-employee deltas are not available.
+     */
+    void refreshDepartments(Collection<Long> departmentIds);
+}
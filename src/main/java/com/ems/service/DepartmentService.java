@@ -2,10 +2,20 @@ package com.ems.service;
 
 import com.ems.dto.DepartmentRequestDTO;
 import com.ems.dto.DepartmentResponseDTO;
+import com.ems.dto.DepartmentTransferResultDTO;
+import com.ems.util.BatchResponse;
+import com.ems.util.CursorResponse;
+import com.ems.util.DepartmentDeleteMode;
+import com.ems.util.ExportFormat;
 import com.ems.util.PageResponse;
+import com.ems.util.ResourceVersion;
+import com.ems.util.TotalMode;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 public interface DepartmentService {
 
@@ -13,13 +23,33 @@ public interface DepartmentService {
 
     DepartmentResponseDTO getDepartmentById(Long id);
 
-    PageResponse<DepartmentResponseDTO> getAllDepartments(Pageable pageable);
+    /**
+     * Resolves up to {@link BatchResponse#MAX_IDS} departments in one query, in request order.
+     */
+    BatchResponse<DepartmentResponseDTO> getDepartmentsByIds(List<Long> ids);
 
-    PageResponse<DepartmentResponseDTO> searchDepartments(String search, Pageable pageable);
+    ResourceVersion getDepartmentsVersion();
 
-    DepartmentResponseDTO updateDepartment(Long id, DepartmentRequestDTO requestDTO);
+    PageResponse<DepartmentResponseDTO> getAllDepartments(Pageable pageable, TotalMode totalMode);
 
-    void deleteDepartment(Long id);
+    /**
+     * Sparse-fieldset variants: only the given {@link com.ems.util.FieldSelection#DEPARTMENT_FIELDS} are selected and returned.
+     */
+    PageResponse<Map<String, Object>> getAllDepartmentFields(List<String> fields, Pageable pageable, TotalMode totalMode);
+
+    PageResponse<Map<String, Object>> searchDepartmentFields(String search, List<String> fields, Pageable pageable, TotalMode totalMode);
+
+    CursorResponse<DepartmentResponseDTO> getDepartmentsByCursor(String cursor, int size, String sortBy, boolean ascending);
+
+    PageResponse<DepartmentResponseDTO> searchDepartments(String search, Pageable pageable, TotalMode totalMode);
+
+    DepartmentResponseDTO updateDepartment(Long id, DepartmentRequestDTO requestDTO, Long expectedVersion);
+
+    DepartmentTransferResultDTO transferEmployees(Long id, Long targetId);
+
+    void deleteDepartment(Long id, DepartmentDeleteMode mode, Long targetId);
 
     List<DepartmentResponseDTO> getAllDepartmentsList();
+
+    void exportDepartments(ExportFormat format, OutputStream outputStream) throws IOException;
 }
\ No newline at end of file
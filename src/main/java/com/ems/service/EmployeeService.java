@@ -1,35 +1,79 @@
 package com.ems.service;
 
 
+import com.ems.dto.BulkImportResponseDTO;
+import com.ems.dto.EmployeeFilterDTO;
+import com.ems.dto.EmployeePatchDTO;
 import com.ems.dto.EmployeeRequestDTO;
 import com.ems.dto.EmployeeResponseDTO;
+import com.ems.dto.EmployeeUpsertResultDTO;
+import com.ems.util.BatchResponse;
+import com.ems.util.CursorResponse;
+import com.ems.util.ExportFormat;
 import com.ems.util.PageResponse;
+import com.ems.util.ResourceVersion;
+import com.ems.util.TotalMode;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 public interface EmployeeService {
 
     EmployeeResponseDTO createEmployee(EmployeeRequestDTO requestDTO);
 
+    BulkImportResponseDTO importEmployees(List<EmployeeRequestDTO> requestDTOs);
+
+    BulkImportResponseDTO importEmployeesCsv(String csv);
+
     EmployeeResponseDTO getEmployeeById(Long id);
 
-    PageResponse<EmployeeResponseDTO> getAllEmployees(Pageable pageable);
+    /**
+     * Resolves up to {@link BatchResponse#MAX_IDS} employees with their departments in one query, in request order.
+     */
+    BatchResponse<EmployeeResponseDTO> getEmployeesByIds(List<Long> ids);
+
+    ResourceVersion getEmployeesVersion();
+
+    PageResponse<EmployeeResponseDTO> getAllEmployees(Pageable pageable, TotalMode totalMode);
+
+    CursorResponse<EmployeeResponseDTO> getEmployeesByCursor(String cursor, int size, String sortBy, boolean ascending);
+
+    PageResponse<EmployeeResponseDTO> searchEmployees(String search, Pageable pageable, TotalMode totalMode);
 
-    PageResponse<EmployeeResponseDTO> searchEmployees(String search, Pageable pageable);
+    PageResponse<EmployeeResponseDTO> filterEmployees(EmployeeFilterDTO filter, Pageable pageable, TotalMode totalMode);
 
-    PageResponse<EmployeeResponseDTO> filterEmployees(
-            Long departmentId,
-            String position,
-            String search,
-            Pageable pageable
-    );
+    /**
+     * Sparse-fieldset variants: only the given {@link com.ems.util.FieldSelection#EMPLOYEE_FIELDS} are selected and returned.
+     */
+    PageResponse<Map<String, Object>> getAllEmployeeFields(List<String> fields, Pageable pageable, TotalMode totalMode);
 
-    PageResponse<EmployeeResponseDTO> getEmployeesByDepartment(Long departmentId, Pageable pageable);
+    PageResponse<Map<String, Object>> searchEmployeeFields(String search, List<String> fields, Pageable pageable, TotalMode totalMode);
 
-    EmployeeResponseDTO updateEmployee(Long id, EmployeeRequestDTO requestDTO);
+    PageResponse<Map<String, Object>> filterEmployeeFields(EmployeeFilterDTO filter, List<String> fields, Pageable pageable, TotalMode totalMode);
+
+    PageResponse<EmployeeResponseDTO> getEmployeesByDepartment(Long departmentId, Pageable pageable, TotalMode totalMode);
+
+    /**
+     * Creates or replaces the employee with the given email; concurrent calls serialize on the row and never create duplicates.
+     */
+    EmployeeUpsertResultDTO upsertEmployeeByEmail(String email, EmployeeRequestDTO requestDTO);
+
+    EmployeeResponseDTO updateEmployee(Long id, EmployeeRequestDTO requestDTO, Long expectedVersion);
+
+    EmployeeResponseDTO patchEmployee(Long id, EmployeePatchDTO patchDTO, Long expectedVersion);
+
+    /**
+     * Applies a details-only patch with a single conditional UPDATE (no prior SELECT, no read-back) and returns
+     * validators built from the version and timestamp it wrote.
+     */
+    ResourceVersion patchEmployeeDetails(Long id, EmployeePatchDTO patchDTO, long expectedVersion);
 
     void deleteEmployee(Long id);
 
     List<EmployeeResponseDTO> getAllEmployeesList();
+
+    void exportEmployees(ExportFormat format, OutputStream outputStream) throws IOException;
 }
\ No newline at end of file
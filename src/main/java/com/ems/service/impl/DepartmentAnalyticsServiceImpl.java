@@ -0,0 +1,146 @@
+package com.ems.service.impl;
+
+
+import com.ems.dto.DepartmentAnalyticsDTO;
+import com.ems.dto.MonthlyHiresDTO;
+import com.ems.entity.DepartmentMonthlyHires;
+import com.ems.entity.DepartmentStats;
+import com.ems.entity.Employee;
+import com.ems.repository.DepartmentStatsRepository;
+import com.ems.service.DepartmentAnalyticsService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+@Timed(value = "ems.service", histogram = true, extraTags = {"service", "departmentAnalytics"})
+public class DepartmentAnalyticsServiceImpl implements DepartmentAnalyticsService {
+
+    private final DepartmentStatsRepository departmentStatsRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartmentAnalyticsDTO> getDepartmentAnalytics() {
+        log.info("Fetching department analytics");
+
+        Map<Long, List<MonthlyHiresDTO>> hiresByDepartment = departmentStatsRepository.findAllMonthlyHires().stream()
+                .collect(Collectors.groupingBy(DepartmentMonthlyHires::getDepartmentId,
+                        Collectors.mapping(hires -> new MonthlyHiresDTO(hires.getHireMonth(), hires.getHires()),
+                                Collectors.toList())));
+
+        return departmentStatsRepository.findAllDepartmentStats().stream()
+                .map(row -> toAnalyticsDTO((Long) row[0], (String) row[1], (DepartmentStats) row[2],
+                        hiresByDepartment.getOrDefault((Long) row[0], List.of())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void rebuild() {
+        log.info("Rebuilding department analytics");
+
+        departmentStatsRepository.lockEmployeesForRebuild();
+        departmentStatsRepository.deleteAllStats();
+        departmentStatsRepository.insertStatsFromEmployees();
+        departmentStatsRepository.deleteAllMonthlyHires();
+        departmentStatsRepository.insertMonthlyHiresFromEmployees();
+
+        log.info("Department analytics rebuilt successfully");
+    }
+
+    @Override
+    public void employeesAdded(Collection<Employee> employees) {
+        // Aggregate per department first so a bulk insert costs one upsert per department
+        Map<Long, DepartmentStats> deltas = new HashMap<>();
+        Map<DepartmentMonthlyHires.Key, Long> hireDeltas = new HashMap<>();
+
+        for (Employee employee : employees) {
+            if (employee.getDepartment() == null) {
+                continue;
+            }
+
+            Long departmentId = employee.getDepartment().getId();
+            DepartmentStats delta = deltas.computeIfAbsent(departmentId,
+                    id -> new DepartmentStats(id, 0, BigDecimal.ZERO, 0, null, null, null));
+            delta.setHeadcount(delta.getHeadcount() + 1);
+
+            BigDecimal salary = employee.getSalary();
+            if (salary != null) {
+                delta.setTotalSalary(delta.getTotalSalary().add(salary));
+                delta.setSalariedCount(delta.getSalariedCount() + 1);
+                delta.setMinSalary(delta.getMinSalary() == null ? salary : delta.getMinSalary().min(salary));
+                delta.setMaxSalary(delta.getMaxSalary() == null ? salary : delta.getMaxSalary().max(salary));
+            }
+            if (employee.getHireDate() != null) {
+                hireDeltas.merge(new DepartmentMonthlyHires.Key(departmentId, employee.getHireDate().withDayOfMonth(1)),
+                        1L, Long::sum);
+            }
+        }
+
+        deltas.values().forEach(delta -> {
+            departmentStatsRepository.applyDelta(delta.getDepartmentId(), delta.getHeadcount(),
+                    delta.getTotalSalary(), delta.getSalariedCount());
+            if (delta.getMinSalary() != null) {
+                departmentStatsRepository.widenSalaryBounds(delta.getDepartmentId(),
+                        delta.getMinSalary(), delta.getMaxSalary());
+            }
+        });
+        hireDeltas.forEach((key, hires) ->
+                departmentStatsRepository.applyHiresDelta(key.getDepartmentId(), key.getHireMonth(), hires));
+    }
+
+    @Override
+    public void employeeRemoved(Long departmentId, BigDecimal salary, LocalDate hireDate) {
+        if (departmentId == null) {
+            return;
+        }
+
+        departmentStatsRepository.applyDelta(departmentId, -1,
+                salary != null ? salary.negate() : BigDecimal.ZERO, salary != null ? -1 : 0);
+        if (salary != null) {
+            departmentStatsRepository.refreshSalaryBounds(departmentId, salary);
+        }
+        if (hireDate != null) {
+            departmentStatsRepository.applyHiresDelta(departmentId, hireDate, -1);
+        }
+    }
+
+    @Override
+    public void refreshDepartments(Collection<Long> departmentIds) {
+        if (departmentIds.isEmpty()) {
+            return;
+        }
+
+        departmentStatsRepository.deleteStats(departmentIds);
+        departmentStatsRepository.insertStatsFromEmployees(departmentIds);
+        departmentStatsRepository.deleteMonthlyHires(departmentIds);
+        departmentStatsRepository.insertMonthlyHiresFromEmployees(departmentIds);
+    }
+
+    private static DepartmentAnalyticsDTO toAnalyticsDTO(Long departmentId, String departmentName,
+                                                         DepartmentStats stats, List<MonthlyHiresDTO> hiresPerMonth) {
+        if (stats == null) {
+            return new DepartmentAnalyticsDTO(departmentId, departmentName, 0, BigDecimal.ZERO, null, null, null,
+                    hiresPerMonth);
+        }
+
+        BigDecimal averageSalary = stats.getSalariedCount() > 0
+                ? stats.getTotalSalary().divide(BigDecimal.valueOf(stats.getSalariedCount()), 2, RoundingMode.HALF_UP)
+                : null;
+        return new DepartmentAnalyticsDTO(departmentId, departmentName, stats.getHeadcount(), stats.getTotalSalary(),
+                averageSalary, stats.getMinSalary(), stats.getMaxSalary(), hiresPerMonth);
+    }
+}
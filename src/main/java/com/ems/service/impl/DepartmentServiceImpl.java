@@ -1,123 +1,384 @@
 package com.ems.service.impl;
 
 
+import com.ems.cache.Coalesced;
+import com.ems.cache.CollectionVersion;
+import com.ems.cache.ResponseCache;
+import com.ems.config.PaginationProperties;
 import com.ems.dto.DepartmentRequestDTO;
 import com.ems.dto.DepartmentResponseDTO;
+import com.ems.dto.DepartmentTransferResultDTO;
 import com.ems.entity.Department;
 import com.ems.exception.ResourceNotFoundException;
+import com.ems.exception.ConstraintViolations;
 import com.ems.exception.DuplicateResourceException;
+import com.ems.exception.PreconditionFailedException;
 import com.ems.repository.DepartmentRepository;
+import com.ems.repository.EmployeeRepository;
+import com.ems.service.DepartmentAnalyticsService;
 import com.ems.service.DepartmentService;
+import com.ems.util.BatchResponse;
+import com.ems.util.CsvUtil;
+import com.ems.util.CursorResponse;
+import com.ems.util.CursorUtil;
+import com.ems.util.DepartmentDeleteMode;
+import com.ems.util.ExportFormat;
 import com.ems.util.MapperUtil;
 import com.ems.util.PageResponse;
+import com.ems.util.ResourceVersion;
+import com.ems.util.TotalMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(value = "ems.service", histogram = true, extraTags = {"service", "department"})
 public class DepartmentServiceImpl implements DepartmentService {
 
+    private static final String EXPORT_CSV_HEADER = CsvUtil.row("id", "name", "description", "location",
+            "employeeCount", "createdAt", "updatedAt");
+
     private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentAnalyticsService departmentAnalyticsService;
     private final MapperUtil mapperUtil;
+    private final ResponseCache responseCache;
+    private final CollectionVersion collectionVersion;
+    private final PaginationProperties paginationProperties;
+    private final ObjectMapper objectMapper;
 
     @Override
     public DepartmentResponseDTO createDepartment(DepartmentRequestDTO requestDTO) {
         log.info("Creating new department: {}", requestDTO.getName());
 
-        if (departmentRepository.existsByName(requestDTO.getName())) {
-            throw new DuplicateResourceException("Department with name '" + requestDTO.getName() + "' already exists");
-        }
-
         Department department = mapperUtil.toDepartmentEntity(requestDTO);
-        Department savedDepartment = departmentRepository.save(department);
+        Department savedDepartment = saveAndFlush(department);
+        collectionVersion.changed();
 
         log.info("Department created successfully with ID: {}", savedDepartment.getId());
-        return mapperUtil.toDepartmentResponseDTO(savedDepartment);
+        return mapperUtil.toDepartmentResponseDTO(savedDepartment, 0);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public DepartmentResponseDTO getDepartmentById(Long id) {
         log.info("Fetching department with ID: {}", id);
 
-        Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + id));
+        return responseCache.getDepartment(id, () -> departmentRepository.findByIdWithEmployeeCount(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchResponse<DepartmentResponseDTO> getDepartmentsByIds(List<Long> ids) {
+        List<Long> distinctIds = BatchResponse.distinctIds(ids);
+        log.info("Fetching {} departments by ID", distinctIds.size());
+
+        return BatchResponse.of(distinctIds, departmentRepository.findAllWithEmployeeCountByIdIn(distinctIds),
+                DepartmentResponseDTO::getId);
+    }
 
-        return mapperUtil.toDepartmentResponseDTO(department);
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getDepartmentsVersion() {
+        Object[] version = departmentRepository.findDataVersion().get(0);
+        CollectionVersion.observed((Long) version[0]);
+        return ResourceVersion.of("departments", version[0], version[1]);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
-    public PageResponse<DepartmentResponseDTO> getAllDepartments(Pageable pageable) {
-        log.info("Fetching all departments - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
+    public PageResponse<DepartmentResponseDTO> getAllDepartments(Pageable pageable, TotalMode totalMode) {
+        log.info("Fetching all departments - Page: {}, Size: {}, Total: {}", pageable.getPageNumber(), pageable.getPageSize(), totalMode);
 
-        Page<Department> departmentPage = departmentRepository.findAll(pageable);
-        List<DepartmentResponseDTO> dtoList = departmentPage.getContent().stream()
-                .map(mapperUtil::toDepartmentResponseDTO)
-                .collect(Collectors.toList());
+        if (totalMode == TotalMode.EXACT) {
+            return PageResponse.of(departmentRepository.findAllWithEmployeeCount(pageable));
+        }
+
+        Slice<DepartmentResponseDTO> departmentSlice = departmentRepository.findSliceWithEmployeeCount(pageable);
+        if (totalMode == TotalMode.ESTIMATE) {
+            // Tables that were never analyzed report -1; fall back to an exact count once
+            long estimate = departmentRepository.estimateCount();
+            return PageResponse.ofEstimate(departmentSlice, departmentSlice.getContent(),
+                    estimate >= 0 ? estimate : departmentRepository.count());
+        }
+        return PageResponse.ofSlice(departmentSlice, departmentSlice.getContent());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<DepartmentResponseDTO> getDepartmentsByCursor(String cursor, int size, String sortBy, boolean ascending) {
+        log.info("Fetching departments by cursor - Size: {}, Sort: {}", size, sortBy);
 
-        return PageResponse.of(departmentPage, dtoList);
+        if (size < 1 || size > paginationProperties.getMaxPageSize()) {
+            throw new IllegalStateException("Page size must be between 1 and " + paginationProperties.getMaxPageSize());
+        }
+
+        CursorUtil.Cursor after = cursor != null && !cursor.isBlank()
+                ? CursorUtil.decode(cursor, sortBy, ascending)
+                : null;
+
+        // One extra row tells us whether another page exists without running a COUNT
+        List<DepartmentResponseDTO> departments = departmentRepository.findDepartmentsAfter(sortBy, ascending, after, size + 1);
+        boolean hasNext = departments.size() > size;
+        List<DepartmentResponseDTO> dtoList = hasNext ? departments.subList(0, size) : departments;
+
+        String nextCursor = null;
+        if (hasNext) {
+            DepartmentResponseDTO last = dtoList.get(dtoList.size() - 1);
+            nextCursor = CursorUtil.encode(sortBy, ascending, last.getId(), keysetValue(last, sortBy));
+        }
+
+        return CursorResponse.of(dtoList, size, nextCursor);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
-    public PageResponse<DepartmentResponseDTO> searchDepartments(String search, Pageable pageable) {
+    public PageResponse<DepartmentResponseDTO> searchDepartments(String search, Pageable pageable, TotalMode totalMode) {
         log.info("Searching departments with keyword: {}", search);
 
-        Page<Department> departmentPage = departmentRepository.searchDepartments(search, pageable);
-        List<DepartmentResponseDTO> dtoList = departmentPage.getContent().stream()
-                .map(mapperUtil::toDepartmentResponseDTO)
+        // Row estimates only exist for whole tables, so filtered listings treat ESTIMATE as no total
+        if (totalMode == TotalMode.EXACT) {
+            Page<Long> idPage = departmentRepository.searchDepartmentIds(search, pageable);
+            return PageResponse.of(idPage, findAllWithEmployeeCountInOrder(idPage.getContent()));
+        }
+
+        Slice<Long> idSlice = departmentRepository.searchDepartmentIdSlice(search, pageable);
+        return PageResponse.ofSlice(idSlice, findAllWithEmployeeCountInOrder(idSlice.getContent()));
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getAllDepartmentFields(List<String> fields, Pageable pageable, TotalMode totalMode) {
+        log.info("Fetching department fields {} - Page: {}, Size: {}", fields, pageable.getPageNumber(), pageable.getPageSize());
+
+        if (totalMode == TotalMode.EXACT) {
+            Page<Tuple> tuplePage = departmentRepository.findFields(fields, pageable);
+            return PageResponse.of(tuplePage, toFieldMaps(tuplePage.getContent(), fields));
+        }
+
+        Slice<Tuple> tupleSlice = departmentRepository.findFieldSlice(fields, pageable);
+        List<Map<String, Object>> rows = toFieldMaps(tupleSlice.getContent(), fields);
+        if (totalMode == TotalMode.ESTIMATE) {
+            long estimate = departmentRepository.estimateCount();
+            return PageResponse.ofEstimate(tupleSlice, rows, estimate >= 0 ? estimate : departmentRepository.count());
+        }
+        return PageResponse.ofSlice(tupleSlice, rows);
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> searchDepartmentFields(String search, List<String> fields, Pageable pageable, TotalMode totalMode) {
+        log.info("Searching department fields {} with keyword: {}", fields, search);
+
+        if (totalMode == TotalMode.EXACT) {
+            Page<Long> idPage = departmentRepository.searchDepartmentIds(search, pageable);
+            return PageResponse.of(idPage, findFieldsInOrder(idPage.getContent(), fields));
+        }
+
+        Slice<Long> idSlice = departmentRepository.searchDepartmentIdSlice(search, pageable);
+        return PageResponse.ofSlice(idSlice, findFieldsInOrder(idSlice.getContent(), fields));
+    }
+
+    private List<Map<String, Object>> findFieldsInOrder(List<Long> ids, List<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Map<String, Object>> rowsById = toFieldMaps(departmentRepository.findFieldsByIdIn(fields, ids), fields).stream()
+                .collect(Collectors.toMap(row -> (Long) row.get("id"), Function.identity()));
+        return ids.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+    }
+
+    private List<Map<String, Object>> toFieldMaps(List<Tuple> tuples, List<String> fields) {
+        return tuples.stream()
+                .map(tuple -> mapperUtil.toDepartmentFieldMap(tuple, fields))
+                .collect(Collectors.toList());
+    }
+
+    private List<DepartmentResponseDTO> findAllWithEmployeeCountInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
 
-        return PageResponse.of(departmentPage, dtoList);
+        // Keep the relevance order of the search while loading counts in one grouped query
+        Map<Long, DepartmentResponseDTO> departmentsById = departmentRepository
+                .findAllWithEmployeeCountByIdIn(ids).stream()
+                .collect(Collectors.toMap(DepartmentResponseDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(departmentsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public DepartmentResponseDTO updateDepartment(Long id, DepartmentRequestDTO requestDTO) {
+    public DepartmentResponseDTO updateDepartment(Long id, DepartmentRequestDTO requestDTO, Long expectedVersion) {
         log.info("Updating department with ID: {}", id);
 
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + id));
 
-        if (!department.getName().equals(requestDTO.getName()) &&
-                departmentRepository.existsByName(requestDTO.getName())) {
-            throw new DuplicateResourceException("Department with name '" + requestDTO.getName() + "' already exists");
+        if (expectedVersion != null && !expectedVersion.equals(department.getVersion())) {
+            throw new PreconditionFailedException("Department with ID " + id + " is at version " + department.getVersion()
+                    + ", not " + expectedVersion);
         }
 
         mapperUtil.updateDepartmentEntity(department, requestDTO);
-        Department updatedDepartment = departmentRepository.save(department);
+        Department updatedDepartment = saveAndFlush(department);
+        responseCache.evictDepartment(id);
+        collectionVersion.changed();
 
         log.info("Department updated successfully with ID: {}", id);
-        return mapperUtil.toDepartmentResponseDTO(updatedDepartment);
+        return mapperUtil.toDepartmentResponseDTO(updatedDepartment, departmentRepository.countEmployees(id));
     }
 
     @Override
-    public void deleteDepartment(Long id) {
-        log.info("Deleting department with ID: {}", id);
+    public DepartmentTransferResultDTO transferEmployees(Long id, Long targetId) {
+        log.info("Transferring employees from department ID: {} to {}", id, targetId);
 
-        Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + id));
+        Department target = findTransferTarget(id, targetId);
+        int transferred = employeeRepository.reassignDepartment(id, target, LocalDateTime.now());
+        departmentAnalyticsService.refreshDepartments(List.of(id, targetId));
+        responseCache.evictDepartment(id);
+        responseCache.evictDepartment(targetId);
+        collectionVersion.changed();
 
-        departmentRepository.delete(department);
-        log.info("Department deleted successfully with ID: {}", id);
+        log.info("Transferred {} employees from department ID: {} to {}", transferred, id, targetId);
+        return new DepartmentTransferResultDTO(id, targetId, transferred);
     }
 
     @Override
+    public void deleteDepartment(Long id, DepartmentDeleteMode mode, Long targetId) {
+        log.info("Deleting department with ID: {} ({} employees)", id, mode);
+
+        if (!departmentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Department not found with ID: " + id);
+        }
+
+        // One statement for all employees instead of cascading a load-and-delete per employee;
+        // the bulk queries clear the persistence context, so the department is removed with an empty collection
+        int affected;
+        switch (mode) {
+            case REASSIGN -> {
+                Department target = findTransferTarget(id, targetId);
+                affected = employeeRepository.reassignDepartment(id, target, LocalDateTime.now());
+                departmentAnalyticsService.refreshDepartments(List.of(targetId));
+                responseCache.evictDepartment(targetId);
+            }
+            case DETACH -> affected = employeeRepository.detachDepartment(id, LocalDateTime.now());
+            default -> affected = employeeRepository.deleteAllByDepartmentId(id);
+        }
+
+        departmentRepository.deleteById(id);
+        responseCache.evictDepartment(id);
+        collectionVersion.changed();
+        log.info("Department deleted successfully with ID: {} ({} employees {})", id, affected, mode);
+    }
+
+    private Department findTransferTarget(Long id, Long targetId) {
+        if (targetId == null) {
+            throw new IllegalStateException("A target department ('to') is required");
+        }
+        if (targetId.equals(id)) {
+            throw new IllegalStateException("Employees cannot be transferred to the same department");
+        }
+        if (!departmentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Department not found with ID: " + id);
+        }
+        return departmentRepository.findById(targetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + targetId));
+    }
+
+    @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<DepartmentResponseDTO> getAllDepartmentsList() {
         log.info("Fetching all departments list");
 
-        return departmentRepository.findAll().stream()
-                .map(mapperUtil::toDepartmentResponseDTO)
-                .collect(Collectors.toList());
+        return departmentRepository.findAllListWithEmployeeCount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportDepartments(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Exporting departments as {}", format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(EXPORT_CSV_HEADER);
+            writer.write('\n');
+        }
+
+        // Rows are unmanaged DTO projections, so nothing accumulates in the persistence context
+        try (Stream<DepartmentResponseDTO> departments = departmentRepository.streamAllWithEmployeeCount()) {
+            Iterator<DepartmentResponseDTO> iterator = departments.iterator();
+            while (iterator.hasNext()) {
+                DepartmentResponseDTO dto = iterator.next();
+                writer.write(format == ExportFormat.CSV ? toCsvRow(dto) : objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private static String toCsvRow(DepartmentResponseDTO dto) {
+        return CsvUtil.row(dto.getId(), dto.getName(), dto.getDescription(), dto.getLocation(),
+                dto.getEmployeeCount(), dto.getCreatedAt(), dto.getUpdatedAt());
+    }
+
+    private static Object keysetValue(DepartmentResponseDTO dto, String sortBy) {
+        return switch (sortBy) {
+            case "name" -> dto.getName();
+            case "createdAt" -> dto.getCreatedAt();
+            case "updatedAt" -> dto.getUpdatedAt();
+            default -> dto.getId();
+        };
+    }
+
+    // The unique constraint on name is the duplicate check; flushing surfaces a violation here
+    // instead of at commit, without a separate existsByName query
+    private Department saveAndFlush(Department department) {
+        try {
+            return departmentRepository.saveAndFlush(department);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isUniqueViolation(ex)) {
+                throw new DuplicateResourceException("Department with name '" + department.getName() + "' already exists");
+            }
+            throw ex;
+        }
     }
 }
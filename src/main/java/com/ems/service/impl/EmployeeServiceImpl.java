@@ -1,45 +1,107 @@
 package com.ems.service.impl;
 
 
+import com.ems.cache.Coalesced;
+import com.ems.cache.CollectionVersion;
+import com.ems.cache.ResponseCache;
+import com.ems.config.PaginationProperties;
+import com.ems.dto.BulkImportResponseDTO;
+import com.ems.dto.BulkImportResultDTO;
+import com.ems.dto.DepartmentSummaryDTO;
+import com.ems.dto.EmployeeFilterDTO;
+import com.ems.dto.EmployeePatchDTO;
 import com.ems.dto.EmployeeRequestDTO;
 import com.ems.dto.EmployeeResponseDTO;
+import com.ems.dto.EmployeeUpsertResultDTO;
 import com.ems.entity.Department;
 import com.ems.entity.Employee;
+import com.ems.exception.ConstraintViolations;
 import com.ems.exception.DuplicateResourceException;
+import com.ems.exception.PreconditionFailedException;
 import com.ems.exception.ResourceNotFoundException;
 import com.ems.repository.DepartmentRepository;
 import com.ems.repository.EmployeeRepository;
+import com.ems.repository.EmployeeSpecifications;
+import com.ems.service.DepartmentAnalyticsService;
 import com.ems.service.EmployeeService;
+import com.ems.util.BatchResponse;
+import com.ems.util.CsvUtil;
+import com.ems.util.CursorResponse;
+import com.ems.util.CursorUtil;
+import com.ems.util.ExportFormat;
 import com.ems.util.MapperUtil;
 import com.ems.util.PageResponse;
+import com.ems.util.ResourceVersion;
+import com.ems.util.TotalMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(value = "ems.service", histogram = true, extraTags = {"service", "employee"})
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+    // Each retry follows a lost insert race, so only a row deleted and re-inserted in between needs more
+    private static final int UPSERT_ATTEMPTS = 3;
+    private static final String EXPORT_CSV_HEADER = CsvUtil.row("id", "firstName", "lastName", "email", "phone",
+            "position", "salary", "hireDate", "departmentId", "departmentName", "createdAt", "updatedAt");
+
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final MapperUtil mapperUtil;
+    private final ResponseCache responseCache;
+    private final CollectionVersion collectionVersion;
+    private final PaginationProperties paginationProperties;
+    private final DepartmentAnalyticsService departmentAnalyticsService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
 
     @Override
     public EmployeeResponseDTO createEmployee(EmployeeRequestDTO requestDTO) {
         log.info("Creating new employee: {}", requestDTO.getEmail());
 
-        if (employeeRepository.existsByEmail(requestDTO.getEmail())) {
-            throw new DuplicateResourceException("Employee with email '" + requestDTO.getEmail() + "' already exists");
-        }
-
         Employee employee = mapperUtil.toEmployeeEntity(requestDTO);
 
         if (requestDTO.getDepartmentId() != null) {
@@ -48,105 +110,387 @@ public class EmployeeServiceImpl implements EmployeeService {
             employee.setDepartment(department);
         }
 
-        Employee savedEmployee = employeeRepository.save(employee);
+        Employee savedEmployee = saveAndFlush(employee);
+        departmentAnalyticsService.employeesAdded(List.of(savedEmployee));
+        collectionVersion.changed();
+        if (savedEmployee.getDepartment() != null) {
+            responseCache.evictDepartment(savedEmployee.getDepartment().getId());
+        }
 
         log.info("Employee created successfully with ID: {}", savedEmployee.getId());
-        return mapperUtil.toEmployeeResponseDTO(savedEmployee);
+        return toResponseDTO(savedEmployee);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    public BulkImportResponseDTO importEmployees(List<EmployeeRequestDTO> requestDTOs) {
+        return importRows(requestDTOs, Map.of());
+    }
+
+    @Override
+    public BulkImportResponseDTO importEmployeesCsv(String csv) {
+        List<String> lines = CsvUtil.splitRecords(csv).stream()
+                .filter(line -> !line.isBlank())
+                .collect(Collectors.toList());
+        if (lines.isEmpty()) {
+            return new BulkImportResponseDTO(0, 0, 0, List.of());
+        }
+
+        List<String> header = CsvUtil.parseLine(lines.get(0)).stream()
+                .map(String::trim)
+                .collect(Collectors.toList());
+        List<EmployeeRequestDTO> rows = new ArrayList<>(lines.size() - 1);
+        Map<Integer, String> parseErrors = new HashMap<>();
+        for (int i = 1; i < lines.size(); i++) {
+            try {
+                rows.add(toRequestDTO(header, CsvUtil.parseLine(lines.get(i))));
+            } catch (RuntimeException ex) {
+                rows.add(null);
+                parseErrors.put(i - 1, "Malformed row: " + ex.getMessage());
+            }
+        }
+
+        return importRows(rows, parseErrors);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public EmployeeResponseDTO getEmployeeById(Long id) {
         log.info("Fetching employee with ID: {}", id);
 
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + id));
+        // Cache hits never open a transaction; misses run the repository calls in their own
+        return responseCache.getEmployee(id, () -> {
+            EmployeeResponseDTO employee = employeeRepository.findViewById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + id));
+            return withDepartmentCounts(List.of(employee)).get(0);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchResponse<EmployeeResponseDTO> getEmployeesByIds(List<Long> ids) {
+        List<Long> distinctIds = BatchResponse.distinctIds(ids);
+        log.info("Fetching {} employees by ID", distinctIds.size());
 
-        return mapperUtil.toEmployeeResponseDTO(employee);
+        List<EmployeeResponseDTO> employees = withDepartmentCounts(employeeRepository.findViewsByIdIn(distinctIds));
+        return BatchResponse.of(distinctIds, employees, EmployeeResponseDTO::getId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<EmployeeResponseDTO> getAllEmployees(Pageable pageable) {
-        log.info("Fetching all employees - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
+    public ResourceVersion getEmployeesVersion() {
+        Object[] version = departmentRepository.findDataVersion().get(0);
+        CollectionVersion.observed((Long) version[0]);
+        return ResourceVersion.of("employees", version[0], version[1]);
+    }
 
-        Page<Employee> employeePage = employeeRepository.findAll(pageable);
-        List<EmployeeResponseDTO> dtoList = employeePage.getContent().stream()
-                .map(mapperUtil::toEmployeeResponseDTO)
-                .collect(Collectors.toList());
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PageResponse<EmployeeResponseDTO> getAllEmployees(Pageable pageable, TotalMode totalMode) {
+        log.info("Fetching all employees - Page: {}, Size: {}, Total: {}", pageable.getPageNumber(), pageable.getPageSize(), totalMode);
 
-        return PageResponse.of(employeePage, dtoList);
+        if (totalMode == TotalMode.EXACT) {
+            Page<EmployeeResponseDTO> employeePage = employeeRepository.findAllViews(pageable);
+            return PageResponse.of(employeePage, withDepartmentCounts(employeePage.getContent()));
+        }
+
+        Slice<EmployeeResponseDTO> employeeSlice = employeeRepository.findAllViewSlice(pageable);
+        List<EmployeeResponseDTO> dtoList = withDepartmentCounts(employeeSlice.getContent());
+        if (totalMode == TotalMode.ESTIMATE) {
+            // Tables that were never analyzed report -1; fall back to an exact count once
+            long estimate = employeeRepository.estimateCount();
+            return PageResponse.ofEstimate(employeeSlice, dtoList, estimate >= 0 ? estimate : employeeRepository.count());
+        }
+        return PageResponse.ofSlice(employeeSlice, dtoList);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<EmployeeResponseDTO> searchEmployees(String search, Pageable pageable) {
+    public CursorResponse<EmployeeResponseDTO> getEmployeesByCursor(String cursor, int size, String sortBy, boolean ascending) {
+        log.info("Fetching employees by cursor - Size: {}, Sort: {}", size, sortBy);
+
+        if (size < 1 || size > paginationProperties.getMaxPageSize()) {
+            throw new IllegalStateException("Page size must be between 1 and " + paginationProperties.getMaxPageSize());
+        }
+
+        CursorUtil.Cursor after = cursor != null && !cursor.isBlank()
+                ? CursorUtil.decode(cursor, sortBy, ascending)
+                : null;
+
+        // One extra row tells us whether another page exists without running a COUNT
+        List<EmployeeResponseDTO> employees = employeeRepository.findEmployeesAfter(sortBy, ascending, after, size + 1);
+        boolean hasNext = employees.size() > size;
+        List<EmployeeResponseDTO> dtoList = withDepartmentCounts(hasNext ? employees.subList(0, size) : employees);
+
+        String nextCursor = null;
+        if (hasNext) {
+            EmployeeResponseDTO last = dtoList.get(dtoList.size() - 1);
+            nextCursor = CursorUtil.encode(sortBy, ascending, last.getId(), keysetValue(last, sortBy));
+        }
+
+        return CursorResponse.of(dtoList, size, nextCursor);
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PageResponse<EmployeeResponseDTO> searchEmployees(String search, Pageable pageable, TotalMode totalMode) {
         log.info("Searching employees with keyword: {}", search);
 
-        Page<Employee> employeePage = employeeRepository.searchEmployees(search, pageable);
-        List<EmployeeResponseDTO> dtoList = employeePage.getContent().stream()
-                .map(mapperUtil::toEmployeeResponseDTO)
-                .collect(Collectors.toList());
+        // Row estimates only exist for whole tables, so filtered listings treat ESTIMATE as no total
+        if (totalMode == TotalMode.EXACT) {
+            Page<Long> idPage = employeeRepository.searchEmployeeIds(search, pageable);
+            return PageResponse.of(idPage, withDepartmentCounts(findAllByIdsInOrder(idPage.getContent())));
+        }
 
-        return PageResponse.of(employeePage, dtoList);
+        Slice<Long> idSlice = employeeRepository.searchEmployeeIdSlice(search, pageable);
+        return PageResponse.ofSlice(idSlice, withDepartmentCounts(findAllByIdsInOrder(idSlice.getContent())));
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
-    public PageResponse<EmployeeResponseDTO> filterEmployees(Long departmentId, String position, String search, Pageable pageable) {
-        log.info("Filtering employees - Department: {}, Position: {}, Search: {}", departmentId, position, search);
+    public PageResponse<EmployeeResponseDTO> filterEmployees(EmployeeFilterDTO filter, Pageable pageable, TotalMode totalMode) {
+        log.info("Filtering employees - {}", filter);
 
-        Page<Employee> employeePage = employeeRepository.filterEmployees(departmentId, position, search, pageable);
-        List<EmployeeResponseDTO> dtoList = employeePage.getContent().stream()
-                .map(mapperUtil::toEmployeeResponseDTO)
-                .collect(Collectors.toList());
+        if (totalMode == TotalMode.EXACT) {
+            Page<EmployeeResponseDTO> employeePage = employeeRepository.findViews(EmployeeSpecifications.fromFilter(filter), pageable);
+            return PageResponse.of(employeePage, withDepartmentCounts(employeePage.getContent()));
+        }
 
-        return PageResponse.of(employeePage, dtoList);
+        Slice<EmployeeResponseDTO> employeeSlice = employeeRepository.findViewSlice(EmployeeSpecifications.fromFilter(filter), pageable);
+        return PageResponse.ofSlice(employeeSlice, withDepartmentCounts(employeeSlice.getContent()));
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getAllEmployeeFields(List<String> fields, Pageable pageable, TotalMode totalMode) {
+        log.info("Fetching employee fields {} - Page: {}, Size: {}", fields, pageable.getPageNumber(), pageable.getPageSize());
+
+        if (totalMode == TotalMode.EXACT) {
+            Page<Tuple> tuplePage = employeeRepository.findFields(null, fields, pageable);
+            return PageResponse.of(tuplePage, toFieldMaps(tuplePage.getContent(), fields));
+        }
+
+        Slice<Tuple> tupleSlice = employeeRepository.findFieldSlice(null, fields, pageable);
+        List<Map<String, Object>> rows = toFieldMaps(tupleSlice.getContent(), fields);
+        if (totalMode == TotalMode.ESTIMATE) {
+            long estimate = employeeRepository.estimateCount();
+            return PageResponse.ofEstimate(tupleSlice, rows, estimate >= 0 ? estimate : employeeRepository.count());
+        }
+        return PageResponse.ofSlice(tupleSlice, rows);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
-    public PageResponse<EmployeeResponseDTO> getEmployeesByDepartment(Long departmentId, Pageable pageable) {
+    public PageResponse<Map<String, Object>> searchEmployeeFields(String search, List<String> fields, Pageable pageable, TotalMode totalMode) {
+        log.info("Searching employee fields {} with keyword: {}", fields, search);
+
+        if (totalMode == TotalMode.EXACT) {
+            Page<Long> idPage = employeeRepository.searchEmployeeIds(search, pageable);
+            return PageResponse.of(idPage, findFieldsInOrder(idPage.getContent(), fields));
+        }
+
+        Slice<Long> idSlice = employeeRepository.searchEmployeeIdSlice(search, pageable);
+        return PageResponse.ofSlice(idSlice, findFieldsInOrder(idSlice.getContent(), fields));
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> filterEmployeeFields(EmployeeFilterDTO filter, List<String> fields, Pageable pageable, TotalMode totalMode) {
+        log.info("Filtering employee fields {} - {}", fields, filter);
+
+        if (totalMode == TotalMode.EXACT) {
+            Page<Tuple> tuplePage = employeeRepository.findFields(EmployeeSpecifications.fromFilter(filter), fields, pageable);
+            return PageResponse.of(tuplePage, toFieldMaps(tuplePage.getContent(), fields));
+        }
+
+        Slice<Tuple> tupleSlice = employeeRepository.findFieldSlice(EmployeeSpecifications.fromFilter(filter), fields, pageable);
+        return PageResponse.ofSlice(tupleSlice, toFieldMaps(tupleSlice.getContent(), fields));
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PageResponse<EmployeeResponseDTO> getEmployeesByDepartment(Long departmentId, Pageable pageable, TotalMode totalMode) {
         log.info("Fetching employees for department ID: {}", departmentId);
 
         if (!departmentRepository.existsById(departmentId)) {
             throw new ResourceNotFoundException("Department not found with ID: " + departmentId);
         }
 
-        Page<Employee> employeePage = employeeRepository.findByDepartmentId(departmentId, pageable);
-        List<EmployeeResponseDTO> dtoList = employeePage.getContent().stream()
-                .map(mapperUtil::toEmployeeResponseDTO)
-                .collect(Collectors.toList());
+        if (totalMode == TotalMode.EXACT) {
+            Page<EmployeeResponseDTO> employeePage = employeeRepository.findViewsByDepartmentId(departmentId, pageable);
+            return PageResponse.of(employeePage, withDepartmentCounts(employeePage.getContent()));
+        }
 
-        return PageResponse.of(employeePage, dtoList);
+        Slice<EmployeeResponseDTO> employeeSlice = employeeRepository.findViewSliceByDepartmentId(departmentId, pageable);
+        return PageResponse.ofSlice(employeeSlice, withDepartmentCounts(employeeSlice.getContent()));
     }
 
     @Override
-    public EmployeeResponseDTO updateEmployee(Long id, EmployeeRequestDTO requestDTO) {
+    public EmployeeUpsertResultDTO upsertEmployeeByEmail(String email, EmployeeRequestDTO requestDTO) {
+        log.info("Upserting employee by email: {}", email);
+
+        if (!email.equals(requestDTO.getEmail())) {
+            throw new IllegalStateException("Email in the body must match the email in the path");
+        }
+        if (requestDTO.getDepartmentId() != null && !departmentRepository.existsById(requestDTO.getDepartmentId())) {
+            throw new ResourceNotFoundException("Department not found with ID: " + requestDTO.getDepartmentId());
+        }
+
+        // Lock the existing row first so its previous department is exact for the analytics refresh. When there
+        // is none, insert without touching a conflicting row; losing that race means the row now exists to lock.
+        Long id = null;
+        boolean created = false;
+        Long previousDepartmentId = null;
+        for (int attempt = 1; id == null; attempt++) {
+            if (attempt > UPSERT_ATTEMPTS) {
+                throw new DuplicateResourceException("Employee with email '" + email + "' is being modified concurrently");
+            }
+
+            List<Object[]> locked = employeeRepository.lockByEmail(email);
+            if (!locked.isEmpty()) {
+                id = ((Number) locked.get(0)[0]).longValue();
+                previousDepartmentId = locked.get(0)[1] != null ? ((Number) locked.get(0)[1]).longValue() : null;
+                employeeRepository.replaceById(id, requestDTO.getFirstName(), requestDTO.getLastName(),
+                        requestDTO.getPhone(), requestDTO.getPosition(), requestDTO.getSalary(), requestDTO.getHireDate(),
+                        requestDTO.getDepartmentId(), LocalDateTime.now());
+            } else {
+                id = employeeRepository.insertByEmailIfAbsent(email, requestDTO.getFirstName(), requestDTO.getLastName(),
+                        requestDTO.getPhone(), requestDTO.getPosition(), requestDTO.getSalary(), requestDTO.getHireDate(),
+                        requestDTO.getDepartmentId(), LocalDateTime.now()).stream().findFirst().orElse(null);
+                created = id != null;
+            }
+        }
+
+        // The statements give no per-column deltas, so both departments are recomputed from the employees table
+        Set<Long> touchedDepartmentIds = new HashSet<>();
+        if (previousDepartmentId != null) {
+            touchedDepartmentIds.add(previousDepartmentId);
+        }
+        if (requestDTO.getDepartmentId() != null) {
+            touchedDepartmentIds.add(requestDTO.getDepartmentId());
+        }
+        departmentAnalyticsService.refreshDepartments(touchedDepartmentIds);
+
+        responseCache.evictEmployee(id);
+        collectionVersion.changed();
+        touchedDepartmentIds.forEach(responseCache::evictDepartment);
+
+        EmployeeResponseDTO employee = employeeRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + id));
+        log.info("Employee {} with ID: {}", created ? "created" : "replaced", id);
+        return new EmployeeUpsertResultDTO(created, withDepartmentCounts(List.of(employee)).get(0));
+    }
+
+    @Override
+    public EmployeeResponseDTO updateEmployee(Long id, EmployeeRequestDTO requestDTO, Long expectedVersion) {
         log.info("Updating employee with ID: {}", id);
 
+        Employee employee = findForUpdate(id, expectedVersion);
+
+        return applyUpdate(employee, () -> mapperUtil.updateEmployeeEntity(employee, requestDTO),
+                requestDTO.getDepartmentId());
+    }
+
+    @Override
+    public EmployeeResponseDTO patchEmployee(Long id, EmployeePatchDTO patchDTO, Long expectedVersion) {
+        log.info("Patching employee with ID: {}", id);
+
+        Employee employee = findForUpdate(id, expectedVersion);
+
+        Long departmentId = patchDTO.getDepartmentId() != null
+                ? patchDTO.getDepartmentId()
+                : employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+        return applyUpdate(employee, () -> mapperUtil.patchEmployeeEntity(employee, patchDTO), departmentId);
+    }
+
+    @Override
+    public ResourceVersion patchEmployeeDetails(Long id, EmployeePatchDTO patchDTO, long expectedVersion) {
+        log.info("Patching employee with ID: {} at version {}", id, expectedVersion);
+
+        if (!patchDTO.touchesOnlyDetails()) {
+            throw new IllegalStateException("Only firstName, lastName, phone and position can be patched without reading the employee");
+        }
+
+        // Truncated to the column's precision so the validators match what a later GET reads back
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = employeeRepository.updateDetailsIfVersion(id, expectedVersion, patchDTO.getFirstName(),
+                patchDTO.getLastName(), patchDTO.getPhone(), patchDTO.getPosition(), updatedAt);
+        if (updated == 0) {
+            // Only the failure path pays for telling a missing row from a stale version
+            if (!employeeRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Employee not found with ID: " + id);
+            }
+            throw new PreconditionFailedException("Employee with ID " + id + " is no longer at version " + expectedVersion);
+        }
+
+        responseCache.evictEmployee(id);
+        collectionVersion.changed();
+        return ResourceVersion.ofEmployeeWrite(expectedVersion + 1, id, updatedAt);
+    }
+
+    private Employee findForUpdate(Long id, Long expectedVersion) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + id));
 
-        if (!employee.getEmail().equals(requestDTO.getEmail()) &&
-                employeeRepository.existsByEmail(requestDTO.getEmail())) {
-            throw new DuplicateResourceException("Employee with email '" + requestDTO.getEmail() + "' already exists");
+        // Writes racing between this check and the flush are still caught by the @Version predicate
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw new PreconditionFailedException("Employee with ID " + id + " is at version " + employee.getVersion()
+                    + ", not " + expectedVersion);
         }
+        return employee;
+    }
 
-        mapperUtil.updateEmployeeEntity(employee, requestDTO);
+    // The unique constraint on email is the duplicate check: flushing here surfaces a violation as
+    // DuplicateResourceException instead of a failed commit, without a separate existsByEmail query
+    private Employee saveAndFlush(Employee employee) {
+        try {
+            return employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isUniqueViolation(ex)) {
+                throw new DuplicateResourceException("Employee with email '" + employee.getEmail() + "' already exists");
+            }
+            throw ex;
+        }
+    }
 
-        if (requestDTO.getDepartmentId() != null) {
-            Department department = departmentRepository.findById(requestDTO.getDepartmentId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + requestDTO.getDepartmentId()));
+    private EmployeeResponseDTO applyUpdate(Employee employee, Runnable changes, Long departmentId) {
+        Long id = employee.getId();
+        Long previousDepartmentId = employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+        BigDecimal previousSalary = employee.getSalary();
+        LocalDate previousHireDate = employee.getHireDate();
+        changes.run();
+
+        if (!Objects.equals(previousDepartmentId, departmentId)) {
+            Department department = departmentId != null
+                    ? departmentRepository.findById(departmentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Department not found with ID: " + departmentId))
+                    : null;
             employee.setDepartment(department);
-        } else {
-            employee.setDepartment(null);
         }
 
-        Employee updatedEmployee = employeeRepository.save(employee);
+        // Salary bounds are recomputed from the employees table, so the UPDATE is flushed first
+        Employee updatedEmployee = saveAndFlush(employee);
+
+        if (analyticsChanged(previousDepartmentId, previousSalary, previousHireDate, updatedEmployee)) {
+            departmentAnalyticsService.employeeRemoved(previousDepartmentId, previousSalary, previousHireDate);
+            departmentAnalyticsService.employeesAdded(List.of(updatedEmployee));
+        }
+
+        responseCache.evictEmployee(id);
+        collectionVersion.changed();
+        if (!Objects.equals(previousDepartmentId, departmentId)) {
+            responseCache.evictDepartment(previousDepartmentId);
+            responseCache.evictDepartment(departmentId);
+        }
 
         log.info("Employee updated successfully with ID: {}", id);
-        return mapperUtil.toEmployeeResponseDTO(updatedEmployee);
+        return toResponseDTO(updatedEmployee);
     }
 
     @Override
@@ -157,16 +501,303 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + id));
 
         employeeRepository.delete(employee);
+        employeeRepository.flush();
+        departmentAnalyticsService.employeeRemoved(
+                employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                employee.getSalary(), employee.getHireDate());
+        responseCache.evictEmployee(id);
+        collectionVersion.changed();
+        if (employee.getDepartment() != null) {
+            responseCache.evictDepartment(employee.getDepartment().getId());
+        }
         log.info("Employee deleted successfully with ID: {}", id);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<EmployeeResponseDTO> getAllEmployeesList() {
         log.info("Fetching all employees list");
 
-        return employeeRepository.findAll().stream()
-                .map(mapperUtil::toEmployeeResponseDTO)
+        return withDepartmentCounts(employeeRepository.findAllViews());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Exporting employees as {}", format);
+
+        Map<Long, Long> departmentEmployeeCounts = employeeRepository.countAllByDepartment().stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(EXPORT_CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported = 0;
+        // Rows are DTO projections, so the persistence context stays empty however many are exported
+        try (Stream<EmployeeResponseDTO> employees = employeeRepository.streamAllViews()) {
+            Iterator<EmployeeResponseDTO> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                EmployeeResponseDTO dto = setDepartmentCount(iterator.next(), departmentEmployeeCounts);
+                writer.write(format == ExportFormat.CSV ? toCsvRow(dto) : objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+
+                if (++exported % EXPORT_CHUNK_SIZE == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} employees", exported);
+    }
+
+    private BulkImportResponseDTO importRows(List<EmployeeRequestDTO> rows, Map<Integer, String> parseErrors) {
+        log.info("Bulk importing {} employees", rows.size());
+
+        // Department ids are resolved once for the whole import
+        Set<Long> requestedDepartmentIds = rows.stream()
+                .filter(Objects::nonNull)
+                .map(EmployeeRequestDTO::getDepartmentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingDepartmentIds = requestedDepartmentIds.isEmpty()
+                ? Set.of()
+                : departmentRepository.findExistingIds(requestedDepartmentIds);
+
+        BulkImportResultDTO[] results = new BulkImportResultDTO[rows.size()];
+        Set<String> importedEmails = new HashSet<>();
+        Set<Long> touchedDepartmentIds = new HashSet<>();
+
+        for (int start = 0; start < rows.size(); start += IMPORT_CHUNK_SIZE) {
+            List<EmployeeRequestDTO> chunk = rows.subList(start, Math.min(start + IMPORT_CHUNK_SIZE, rows.size()));
+            Set<String> chunkEmails = chunk.stream()
+                    .filter(Objects::nonNull)
+                    .map(EmployeeRequestDTO::getEmail)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<String> existingEmails = chunkEmails.isEmpty()
+                    ? Set.of()
+                    : employeeRepository.findExistingEmails(chunkEmails);
+
+            List<Employee> batch = new ArrayList<>(chunk.size());
+            List<Integer> batchRows = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                int row = start + i;
+                EmployeeRequestDTO dto = chunk.get(i);
+
+                String error = parseErrors.containsKey(row) ? parseErrors.get(row) : validate(dto);
+                if (error == null && dto.getDepartmentId() != null
+                        && !existingDepartmentIds.contains(dto.getDepartmentId())) {
+                    error = "Department not found with ID: " + dto.getDepartmentId();
+                }
+                if (error == null && (existingEmails.contains(dto.getEmail()) || !importedEmails.add(dto.getEmail()))) {
+                    error = "Employee with email '" + dto.getEmail() + "' already exists";
+                }
+                if (error != null) {
+                    results[row] = new BulkImportResultDTO(row + 1, dto != null ? dto.getEmail() : null, false, null, error);
+                    continue;
+                }
+
+                Employee employee = mapperUtil.toEmployeeEntity(dto);
+                if (dto.getDepartmentId() != null) {
+                    employee.setDepartment(departmentRepository.getReferenceById(dto.getDepartmentId()));
+                    touchedDepartmentIds.add(dto.getDepartmentId());
+                }
+                batch.add(employee);
+                batchRows.add(row);
+            }
+
+            // Sequence ids are pre-allocated, so the flush goes out as JDBC batches
+            employeeRepository.saveAll(batch);
+            employeeRepository.flush();
+            departmentAnalyticsService.employeesAdded(batch);
+            entityManager.clear();
+
+            for (int i = 0; i < batch.size(); i++) {
+                int row = batchRows.get(i);
+                Employee employee = batch.get(i);
+                results[row] = new BulkImportResultDTO(row + 1, employee.getEmail(), true, employee.getId(), null);
+            }
+        }
+
+        touchedDepartmentIds.forEach(responseCache::evictDepartment);
+        if (Arrays.stream(results).anyMatch(BulkImportResultDTO::isSuccess)) {
+            collectionVersion.changed();
+        }
+
+        int created = (int) Arrays.stream(results).filter(BulkImportResultDTO::isSuccess).count();
+        log.info("Bulk import finished - Created: {}, Failed: {}", created, rows.size() - created);
+        return new BulkImportResponseDTO(rows.size(), created, rows.size() - created, Arrays.asList(results));
+    }
+
+    private static boolean analyticsChanged(Long previousDepartmentId, BigDecimal previousSalary,
+                                            LocalDate previousHireDate, Employee employee) {
+        Long departmentId = employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+        boolean salaryChanged = previousSalary == null || employee.getSalary() == null
+                ? previousSalary != employee.getSalary()
+                : previousSalary.compareTo(employee.getSalary()) != 0;
+        boolean hireMonthChanged = previousHireDate == null || employee.getHireDate() == null
+                ? previousHireDate != employee.getHireDate()
+                : !previousHireDate.withDayOfMonth(1).equals(employee.getHireDate().withDayOfMonth(1));
+
+        return !Objects.equals(previousDepartmentId, departmentId) || salaryChanged || hireMonthChanged;
+    }
+
+    private String validate(EmployeeRequestDTO dto) {
+        if (dto == null) {
+            return "Empty row";
+        }
+
+        Set<ConstraintViolation<EmployeeRequestDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static EmployeeRequestDTO toRequestDTO(List<String> header, List<String> fields) {
+        EmployeeRequestDTO dto = new EmployeeRequestDTO();
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            String value = fields.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+
+            switch (header.get(i)) {
+                case "firstName" -> dto.setFirstName(value);
+                case "lastName" -> dto.setLastName(value);
+                case "email" -> dto.setEmail(value);
+                case "phone" -> dto.setPhone(value);
+                case "position" -> dto.setPosition(value);
+                case "salary" -> dto.setSalary(new BigDecimal(value));
+                case "hireDate" -> dto.setHireDate(LocalDate.parse(value));
+                case "departmentId" -> dto.setDepartmentId(Long.valueOf(value));
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        return dto;
+    }
+
+    private static String toCsvRow(EmployeeResponseDTO dto) {
+        return CsvUtil.row(dto.getId(), dto.getFirstName(), dto.getLastName(), dto.getEmail(), dto.getPhone(),
+                dto.getPosition(), dto.getSalary(), dto.getHireDate(),
+                dto.getDepartment() != null ? dto.getDepartment().getId() : null,
+                dto.getDepartment() != null ? dto.getDepartment().getName() : null,
+                dto.getCreatedAt(), dto.getUpdatedAt());
+    }
+
+    private static Object keysetValue(EmployeeResponseDTO dto, String sortBy) {
+        return switch (sortBy) {
+            case "firstName" -> dto.getFirstName();
+            case "lastName" -> dto.getLastName();
+            case "email" -> dto.getEmail();
+            case "createdAt" -> dto.getCreatedAt();
+            case "updatedAt" -> dto.getUpdatedAt();
+            default -> dto.getId();
+        };
+    }
+
+    // Loads employee rows with their departments and keeps the order of the given ids
+    private List<EmployeeResponseDTO> findAllByIdsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, EmployeeResponseDTO> employeesById = employeeRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(EmployeeResponseDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(employeesById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    private EmployeeResponseDTO toResponseDTO(Employee employee) {
+        return toResponseDTOs(List.of(employee)).get(0);
+    }
+
+    // Maps a page of employees with one grouped count query for all departments on the page
+    private List<EmployeeResponseDTO> toResponseDTOs(List<Employee> employees) {
+        Set<Long> departmentIds = employees.stream()
+                .map(Employee::getDepartment)
+                .filter(Objects::nonNull)
+                .map(Department::getId)
+                .collect(Collectors.toSet());
+
+        Map<Long, Long> departmentEmployeeCounts = departmentIds.isEmpty()
+                ? Map.of()
+                : employeeRepository.countByDepartmentIds(departmentIds).stream()
+                        .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        return employees.stream()
+                .map(employee -> mapperUtil.toEmployeeResponseDTO(employee, departmentEmployeeCounts))
+                .collect(Collectors.toList());
+    }
+
+    private List<Map<String, Object>> findFieldsInOrder(List<Long> ids, List<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<Tuple> tuples = employeeRepository.findFields(EmployeeSpecifications.idIn(ids), fields, Sort.unsorted());
+        Map<Long, Map<String, Object>> rowsById = toFieldMaps(tuples, fields).stream()
+                .collect(Collectors.toMap(row -> (Long) row.get("id"), Function.identity()));
+        return ids.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Department counts are only queried when the department summary was requested
+    private List<Map<String, Object>> toFieldMaps(List<Tuple> tuples, List<String> fields) {
+        Map<Long, Long> departmentEmployeeCounts = Map.of();
+        if (fields.contains("department")) {
+            Set<Long> departmentIds = tuples.stream()
+                    .map(tuple -> tuple.get("departmentId", Long.class))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            if (!departmentIds.isEmpty()) {
+                departmentEmployeeCounts = employeeRepository.countByDepartmentIds(departmentIds).stream()
+                        .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+            }
+        }
+
+        Map<Long, Long> counts = departmentEmployeeCounts;
+        return tuples.stream()
+                .map(tuple -> mapperUtil.toEmployeeFieldMap(tuple, fields, counts))
+                .collect(Collectors.toList());
+    }
+
+    // Fills in the department employee counts of projected rows with one grouped count query
+    private List<EmployeeResponseDTO> withDepartmentCounts(List<EmployeeResponseDTO> employees) {
+        Set<Long> departmentIds = employees.stream()
+                .map(EmployeeResponseDTO::getDepartment)
+                .filter(Objects::nonNull)
+                .map(DepartmentSummaryDTO::getId)
+                .collect(Collectors.toSet());
+
+        Map<Long, Long> departmentEmployeeCounts = departmentIds.isEmpty()
+                ? Map.of()
+                : employeeRepository.countByDepartmentIds(departmentIds).stream()
+                        .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        employees.forEach(employee -> setDepartmentCount(employee, departmentEmployeeCounts));
+        return employees;
+    }
+
+    private static EmployeeResponseDTO setDepartmentCount(EmployeeResponseDTO employee, Map<Long, Long> departmentEmployeeCounts) {
+        DepartmentSummaryDTO department = employee.getDepartment();
+        if (department != null) {
+            department.setEmployeeCount(departmentEmployeeCounts.getOrDefault(department.getId(), 0L).intValue());
+        }
+        return employee;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ems.util;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a multi-get: the found resources in the order their ids were requested, plus the ids that do
+ * not exist. Repeated ids are returned once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse<T> {
+
+    public static final int MAX_IDS = 100;
+
+    private List<T> content;
+    private List<Long> missingIds;
+
+    /**
+     * Removes repeated ids, keeping the first occurrence, and rejects empty, null-containing or oversized batches.
+     */
+    public static List<Long> distinctIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalStateException("At least one id is required");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalStateException("Ids must not be null");
+        }
+
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() > MAX_IDS) {
+            throw new IllegalStateException("At most " + MAX_IDS + " ids can be requested at once, got " + distinct.size());
+        }
+        return distinct;
+    }
+
+    public static <T> BatchResponse<T> of(List<Long> ids, List<T> found, Function<T, Long> idOf) {
+        Map<Long, T> foundById = found.stream().collect(Collectors.toMap(idOf, Function.identity()));
+
+        List<T> content = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            T item = foundById.get(id);
+            if (item != null) {
+                content.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchResponse<>(content, missingIds);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ems.util;
+
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class ConditionalResponseUtil {
+
+    private ConditionalResponseUtil() {
+    }
+
+    /**
+     * Answers 304 when the request's If-None-Match / If-Modified-Since still match the version;
+     * the body supplier (query, mapping, serialization) only runs for a 200.
+     */
+    public static <T> ResponseEntity<T> respond(WebRequest webRequest, ResourceVersion version, Supplier<T> body) {
+        boolean notModified = webRequest.checkNotModified(version.getEtag(), version.getLastModified());
+
+        ResponseEntity.BodyBuilder builder = notModified
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                : ResponseEntity.ok();
+        builder.eTag(version.getEtag());
+        if (version.getLastModified() >= 0) {
+            builder.lastModified(version.getLastModified());
+        }
+
+        return notModified ? builder.build() : builder.body(body.get());
+    }
+
+    /**
+     * Variant for resources whose validators come from the body itself, e.g. a cached response:
+     * the body is always loaded, but a match still saves serializing and sending it.
+     */
+    public static <T> ResponseEntity<T> respond(WebRequest webRequest, Supplier<T> body,
+                                                Function<T, ResourceVersion> version) {
+        T loaded = body.get();
+        return respond(webRequest, version.apply(loaded), () -> loaded);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ems.util;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorResponse<T> of(List<T> content, int size, String nextCursor) {
+        CursorResponse<T> response = new CursorResponse<>();
+        response.setContent(content);
+        response.setSize(size);
+        response.setNextCursor(nextCursor);
+        response.setHasNext(nextCursor != null);
+        return response;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ems.util;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque keyset cursors used by the cursor endpoints.
+ * A cursor carries the sort field, direction, last id and last sort value of the previous page.
+ */
+public final class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorUtil() {
+    }
+
+    public static String encode(String sortBy, boolean ascending, Long lastId, Object lastValue) {
+        String raw = sortBy + SEPARATOR + (ascending ? "asc" : "desc") + SEPARATOR + lastId + SEPARATOR
+                + (lastValue != null ? lastValue.toString() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor, String sortBy, boolean ascending) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Invalid cursor");
+        }
+
+        String[] parts = raw.split("\\|", 4);
+        if (parts.length != 4) {
+            throw new IllegalStateException("Invalid cursor");
+        }
+        if (!parts[0].equals(sortBy) || !parts[1].equals(ascending ? "asc" : "desc")) {
+            throw new IllegalStateException("Cursor does not match the requested sort order");
+        }
+
+        try {
+            return new Cursor(Long.valueOf(parts[2]), parts[3]);
+        } catch (NumberFormatException ex) {
+            throw new IllegalStateException("Invalid cursor");
+        }
+    }
+
+    public static Object convert(String value, Class<?> type) {
+        try {
+            return parse(value, type);
+        } catch (RuntimeException ex) {
+            throw new IllegalStateException("Invalid cursor");
+        }
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        if (type == String.class) {
+            return value;
+        }
+        if (type == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(value);
+        }
+        throw new IllegalArgumentException("Unsupported cursor value type: " + type.getSimpleName());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        private final Long lastId;
+        private final String lastValue;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ems.util;
+
+
+/**
+ * What happens to a department's employees when it is deleted; each mode is one set-based statement.
+ */
+public enum DepartmentDeleteMode {
+    DELETE,
+    DETACH,
+    REASSIGN;
+
+    public static DepartmentDeleteMode from(String mode) {
+        for (DepartmentDeleteMode value : values()) {
+            if (value.name().equalsIgnoreCase(mode)) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Unsupported employees mode: " + mode);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ems.util;
+
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Parses the {@code fields=} parameter of list endpoints into the columns to select. Fields are
+ * returned in the order of the allowed list, {@code id} is always included, and unknown names are
+ * rejected so they never reach a query.
+ */
+public final class FieldSelection {
+
+    // "department" selects the embedded summary (id, name, location, employeeCount) through a join
+    public static final List<String> EMPLOYEE_FIELDS = List.of("id", "firstName", "lastName", "email", "phone",
+            "position", "salary", "hireDate", "department", "createdAt", "updatedAt", "version");
+
+    // "employeeCount" adds the join and GROUP BY on employees
+    public static final List<String> DEPARTMENT_FIELDS = List.of("id", "name", "description", "location",
+            "employeeCount", "createdAt", "updatedAt");
+
+    private FieldSelection() {
+    }
+
+    /**
+     * Returns the selected fields, or null when the parameter is absent and the full response is wanted.
+     */
+    public static List<String> parse(String fields, List<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+        for (String field : requested) {
+            if (!allowed.contains(field)) {
+                throw new IllegalStateException("Unsupported field: " + field + "; supported fields are " + allowed);
+            }
+        }
+
+        return allowed.stream()
+                .filter(field -> field.equals("id") || requested.contains(field))
+                .collect(Collectors.toList());
+    }
+}
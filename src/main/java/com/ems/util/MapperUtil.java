@@ -4,13 +4,23 @@ package com.ems.util;
 import com.ems.dto.*;
 import com.ems.entity.Department;
 import com.ems.entity.Employee;
+import jakarta.persistence.Tuple;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 public class MapperUtil {
 
+    // Same pattern as the @JsonFormat on the response DTO timestamps
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     // Department mappings
-    public DepartmentResponseDTO toDepartmentResponseDTO(Department department) {
+    public DepartmentResponseDTO toDepartmentResponseDTO(Department department, long employeeCount) {
         if (department == null) {
             return null;
         }
@@ -20,14 +30,15 @@ public class MapperUtil {
         dto.setName(department.getName());
         dto.setDescription(department.getDescription());
         dto.setLocation(department.getLocation());
-        dto.setEmployeeCount(department.getEmployees() != null ? department.getEmployees().size() : 0);
+        dto.setEmployeeCount((int) employeeCount);
         dto.setCreatedAt(department.getCreatedAt());
         dto.setUpdatedAt(department.getUpdatedAt());
+        dto.setVersion(department.getVersion());
 
         return dto;
     }
 
-    public DepartmentSummaryDTO toDepartmentSummaryDTO(Department department) {
+    public DepartmentSummaryDTO toDepartmentSummaryDTO(Department department, long employeeCount) {
         if (department == null) {
             return null;
         }
@@ -36,7 +47,7 @@ public class MapperUtil {
         dto.setId(department.getId());
         dto.setName(department.getName());
         dto.setLocation(department.getLocation());
-        dto.setEmployeeCount(department.getEmployees() != null ? department.getEmployees().size() : 0);
+        dto.setEmployeeCount((int) employeeCount);
 
         return dto;
     }
@@ -65,7 +76,7 @@ public class MapperUtil {
     }
 
     // Employee mappings
-    public EmployeeResponseDTO toEmployeeResponseDTO(Employee employee) {
+    public EmployeeResponseDTO toEmployeeResponseDTO(Employee employee, Map<Long, Long> departmentEmployeeCounts) {
         if (employee == null) {
             return null;
         }
@@ -79,9 +90,14 @@ public class MapperUtil {
         dto.setPosition(employee.getPosition());
         dto.setSalary(employee.getSalary());
         dto.setHireDate(employee.getHireDate());
-        dto.setDepartment(toDepartmentSummaryDTO(employee.getDepartment()));
+        Department department = employee.getDepartment();
+        if (department != null) {
+            dto.setDepartment(toDepartmentSummaryDTO(department,
+                    departmentEmployeeCounts.getOrDefault(department.getId(), 0L)));
+        }
         dto.setCreatedAt(employee.getCreatedAt());
         dto.setUpdatedAt(employee.getUpdatedAt());
+        dto.setVersion(employee.getVersion());
 
         return dto;
     }
@@ -132,4 +148,73 @@ public class MapperUtil {
         employee.setSalary(dto.getSalary());
         employee.setHireDate(dto.getHireDate());
     }
+
+    public void patchEmployeeEntity(Employee employee, EmployeePatchDTO dto) {
+        if (employee == null || dto == null) {
+            return;
+        }
+
+        // Absent fields keep their value; with @DynamicUpdate only the changed columns reach the UPDATE
+        if (dto.getFirstName() != null) {
+            employee.setFirstName(dto.getFirstName());
+        }
+        if (dto.getLastName() != null) {
+            employee.setLastName(dto.getLastName());
+        }
+        if (dto.getEmail() != null) {
+            employee.setEmail(dto.getEmail());
+        }
+        if (dto.getPhone() != null) {
+            employee.setPhone(dto.getPhone());
+        }
+        if (dto.getPosition() != null) {
+            employee.setPosition(dto.getPosition());
+        }
+        if (dto.getSalary() != null) {
+            employee.setSalary(dto.getSalary());
+        }
+        if (dto.getHireDate() != null) {
+            employee.setHireDate(dto.getHireDate());
+        }
+    }
+
+    // Sparse fieldsets: only the requested keys, formatted like the corresponding response DTO
+    public Map<String, Object> toEmployeeFieldMap(Tuple tuple, List<String> fields, Map<Long, Long> departmentEmployeeCounts) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            if ("department".equals(field)) {
+                row.put(field, toDepartmentSummaryMap(tuple, departmentEmployeeCounts));
+            } else {
+                row.put(field, formatFieldValue(tuple.get(field)));
+            }
+        }
+        return row;
+    }
+
+    public Map<String, Object> toDepartmentFieldMap(Tuple tuple, List<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value = tuple.get(field);
+            row.put(field, "employeeCount".equals(field) ? ((Number) value).intValue() : formatFieldValue(value));
+        }
+        return row;
+    }
+
+    private Map<String, Object> toDepartmentSummaryMap(Tuple tuple, Map<Long, Long> departmentEmployeeCounts) {
+        Long departmentId = tuple.get("departmentId", Long.class);
+        if (departmentId == null) {
+            return null;
+        }
+
+        Map<String, Object> department = new LinkedHashMap<>();
+        department.put("id", departmentId);
+        department.put("name", tuple.get("departmentName"));
+        department.put("location", tuple.get("departmentLocation"));
+        department.put("employeeCount", departmentEmployeeCounts.getOrDefault(departmentId, 0L).intValue());
+        return department;
+    }
+
+    private static Object formatFieldValue(Object value) {
+        return value instanceof LocalDateTime dateTime ? DATE_TIME_FORMAT.format(dateTime) : value;
+    }
 }
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -19,6 +20,9 @@ public class PageResponse<T> {
     private int totalPages;
     private boolean last;
     private boolean first;
+    private boolean hasNext;
+    // false when totalElements/totalPages are an estimate, or -1 because no count was run
+    private boolean totalExact;
 
     public static <T> PageResponse<T> of(Page<T> page) {
         PageResponse<T> response = new PageResponse<>();
@@ -29,6 +33,8 @@ public class PageResponse<T> {
         response.setTotalPages(page.getTotalPages());
         response.setLast(page.isLast());
         response.setFirst(page.isFirst());
+        response.setHasNext(page.hasNext());
+        response.setTotalExact(true);
         return response;
     }
 
@@ -41,6 +47,33 @@ public class PageResponse<T> {
         response.setTotalPages(page.getTotalPages());
         response.setLast(page.isLast());
         response.setFirst(page.isFirst());
+        response.setHasNext(page.hasNext());
+        response.setTotalExact(true);
+        return response;
+    }
+
+    // Slice-backed page: the data query fetched one extra row instead of running a COUNT
+    public static <T, R> PageResponse<R> ofSlice(Slice<T> slice, List<R> mappedContent) {
+        PageResponse<R> response = new PageResponse<>();
+        response.setContent(mappedContent);
+        response.setPageNumber(slice.getNumber());
+        response.setPageSize(slice.getSize());
+        response.setTotalElements(-1);
+        response.setTotalPages(-1);
+        response.setLast(!slice.hasNext());
+        response.setFirst(slice.isFirst());
+        response.setHasNext(slice.hasNext());
+        response.setTotalExact(false);
+        return response;
+    }
+
+    // Slice-backed page with an estimated total, never lower than what the client has already seen
+    public static <T, R> PageResponse<R> ofEstimate(Slice<T> slice, List<R> mappedContent, long estimatedTotal) {
+        PageResponse<R> response = ofSlice(slice, mappedContent);
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        long total = Math.max(estimatedTotal, seen);
+        response.setTotalElements(total);
+        response.setTotalPages(slice.getSize() > 0 ? (int) ((total + slice.getSize() - 1) / slice.getSize()) : 1);
         return response;
     }
 }
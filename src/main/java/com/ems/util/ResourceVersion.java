@@ -0,0 +1,107 @@
+package com.ems.util;
+
+
+import com.ems.dto.DepartmentResponseDTO;
+import com.ems.dto.DepartmentSummaryDTO;
+import com.ems.dto.EmployeeResponseDTO;
+import com.ems.exception.PreconditionFailedException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP validators (ETag and Last-Modified) for a resource or collection. Collections use the
+ * trigger-maintained data version so unchanged data is answered with 304 before any listing query;
+ * single resources derive them from the cached response.
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+    private final String etag;
+    private final long lastModified;
+
+    public static ResourceVersion of(Object... parts) {
+        return new ResourceVersion("\"" + digest(parts) + "\"", lastModified(parts));
+    }
+
+    /**
+     * Validators for a single @Version-ed entity. The ETag is prefixed with the entity version so an
+     * If-Match on a write can be checked against the row version alone; the digest still covers any
+     * embedded data so GETs revalidate correctly.
+     */
+    public static ResourceVersion ofEntity(long entityVersion, Object... parts) {
+        return new ResourceVersion("\"" + entityVersion + "-" + digest(parts) + "\"", lastModified(parts));
+    }
+
+    /**
+     * Validators for GET /employees/{id}, computed from the (usually cached) response itself. Changes to
+     * the embedded department, including its employee count, evict the cached response.
+     */
+    public static ResourceVersion ofEmployee(EmployeeResponseDTO employee) {
+        DepartmentSummaryDTO department = employee.getDepartment();
+        return department == null
+                ? ofEmployeeWrite(employee.getVersion(), employee.getId(), employee.getUpdatedAt())
+                : ofEntity(employee.getVersion(), "employee", employee.getId(), employee.getUpdatedAt(),
+                        department.getId(), department.getName(), department.getLocation(), department.getEmployeeCount());
+    }
+
+    /**
+     * Validators for an employee written without reading it back. The version prefix is exact, so the ETag
+     * works for If-Match; the digest covers only the employee's own row, so it equals the GET ETag for an
+     * employee without a department and otherwise costs one full response on the next If-None-Match.
+     */
+    public static ResourceVersion ofEmployeeWrite(long version, Long id, LocalDateTime updatedAt) {
+        return ofEntity(version, "employee", id, updatedAt);
+    }
+
+    public static ResourceVersion ofDepartment(DepartmentResponseDTO department) {
+        return ofEntity(department.getVersion(), "department", department.getId(), department.getUpdatedAt(),
+                department.getEmployeeCount());
+    }
+
+    /**
+     * Entity version named by an If-Match header, or null when there is no precondition ("*" or absent).
+     * Accepts ofEntity() tags as well as a bare "version" tag.
+     */
+    public static Long parseEntityVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/") || tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag");
+        }
+        tag = tag.substring(1, tag.length() - 1);
+        int separator = tag.indexOf('-');
+        try {
+            return Long.parseLong(separator >= 0 ? tag.substring(0, separator) : tag);
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+
+    private static String digest(Object... parts) {
+        String joined = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return UUID.nameUUIDFromBytes(joined.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static long lastModified(Object... parts) {
+        LocalDateTime latest = Arrays.stream(parts)
+                .filter(LocalDateTime.class::isInstance)
+                .map(LocalDateTime.class::cast)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
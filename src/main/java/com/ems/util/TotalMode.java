@@ -0,0 +1,25 @@
+package com.ems.util;
+
+
+/**
+ * How a paged listing reports its total: an exact COUNT, no count at all (hasNext only, for
+ * infinite scroll), or the planner's row estimate, which is only available for unfiltered listings.
+ */
+public enum TotalMode {
+    EXACT,
+    NONE,
+    ESTIMATE;
+
+    public static TotalMode from(String withTotal) {
+        if (withTotal == null || withTotal.equalsIgnoreCase("exact") || withTotal.equalsIgnoreCase("true")) {
+            return EXACT;
+        }
+        if (withTotal.equalsIgnoreCase("false")) {
+            return NONE;
+        }
+        if (withTotal.equalsIgnoreCase("estimate")) {
+            return ESTIMATE;
+        }
+        throw new IllegalStateException("Unsupported withTotal value: " + withTotal);
+    }
+}
@@ -0,0 +1,24 @@
+-- Baseline schema matching the JPA entities; IF NOT EXISTS keeps it safe on databases
+-- previously created by hibernate ddl-auto
+CREATE TABLE IF NOT EXISTS departments (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL UNIQUE,
+    description TEXT,
+    location    VARCHAR(100),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS employees (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name    VARCHAR(50)  NOT NULL,
+    last_name     VARCHAR(50)  NOT NULL,
+    email         VARCHAR(100) NOT NULL UNIQUE,
+    phone         VARCHAR(20),
+    position      VARCHAR(100),
+    salary        NUMERIC(10, 2),
+    hire_date     DATE,
+    department_id BIGINT REFERENCES departments (id),
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6)
+);
@@ -0,0 +1,10 @@
+-- Trigram GIN indexes so LOWER(col) LIKE '%term%' searches use bitmap index scans
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_employees_first_name_trgm ON employees USING gin (LOWER(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employees_last_name_trgm ON employees USING gin (LOWER(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employees_email_trgm ON employees USING gin (LOWER(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employees_position_trgm ON employees USING gin (LOWER(position) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_departments_name_trgm ON departments USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_departments_location_trgm ON departments USING gin (LOWER(location) gin_trgm_ops);
@@ -0,0 +1,11 @@
+-- Switch employees.id from IDENTITY to a pooled sequence so Hibernate can batch INSERTs.
+-- INCREMENT BY must match @SequenceGenerator(allocationSize = 50) on Employee.
+ALTER TABLE employees ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE employees ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS employees_id_seq;
+
+CREATE SEQUENCE employees_id_seq INCREMENT BY 50 OWNED BY employees.id;
+SELECT setval('employees_id_seq', (SELECT COALESCE(MAX(id), 0) FROM employees) + 50);
+
+-- Keeps plain SQL inserts working; each such row consumes a whole block of 50
+ALTER TABLE employees ALTER COLUMN id SET DEFAULT nextval('employees_id_seq');
@@ -0,0 +1,5 @@
+-- Indexes for the predicates EmployeeSpecifications emits on /employees/filter
+CREATE INDEX IF NOT EXISTS idx_employees_department_id ON employees (department_id);
+CREATE INDEX IF NOT EXISTS idx_employees_position_lower ON employees (LOWER(position));
+CREATE INDEX IF NOT EXISTS idx_employees_salary ON employees (salary);
+CREATE INDEX IF NOT EXISTS idx_employees_hire_date ON employees (hire_date);
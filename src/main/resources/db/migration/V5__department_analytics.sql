@@ -0,0 +1,33 @@
+-- Summary tables behind GET /departments/analytics, maintained incrementally by
+-- DepartmentAnalyticsServiceImpl and rebuilt by POST /departments/analytics/rebuild
+CREATE TABLE IF NOT EXISTS department_stats (
+    department_id  BIGINT PRIMARY KEY REFERENCES departments (id) ON DELETE CASCADE,
+    headcount      BIGINT         NOT NULL DEFAULT 0,
+    total_salary   NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    salaried_count BIGINT         NOT NULL DEFAULT 0,
+    min_salary     NUMERIC(10, 2),
+    max_salary     NUMERIC(10, 2),
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS department_monthly_hires (
+    department_id BIGINT NOT NULL REFERENCES departments (id) ON DELETE CASCADE,
+    hire_month    DATE   NOT NULL,
+    hires         BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (department_id, hire_month)
+);
+
+INSERT INTO department_stats
+    (department_id, headcount, total_salary, salaried_count, min_salary, max_salary, updated_at)
+SELECT department_id, COUNT(*), COALESCE(SUM(salary), 0), COUNT(salary), MIN(salary), MAX(salary), now()
+FROM employees
+WHERE department_id IS NOT NULL
+GROUP BY department_id
+ON CONFLICT (department_id) DO NOTHING;
+
+INSERT INTO department_monthly_hires (department_id, hire_month, hires)
+SELECT department_id, CAST(date_trunc('month', hire_date) AS DATE), COUNT(*)
+FROM employees
+WHERE department_id IS NOT NULL AND hire_date IS NOT NULL
+GROUP BY department_id, CAST(date_trunc('month', hire_date) AS DATE)
+ON CONFLICT (department_id, hire_month) DO NOTHING;
@@ -0,0 +1,10 @@
+-- Composite indexes matching the ORDER BY <column>, id used by paged and keyset listings
+-- (GET /employees sorts by first_name by default), so a page is read in index order
+-- instead of sorting the whole table
+CREATE INDEX IF NOT EXISTS idx_employees_first_name_id ON employees (first_name, id);
+CREATE INDEX IF NOT EXISTS idx_employees_last_name_id ON employees (last_name, id);
+CREATE INDEX IF NOT EXISTS idx_employees_created_at_id ON employees (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_employees_updated_at_id ON employees (updated_at, id);
+
+-- MAX(updated_at) in the conditional-GET version queries
+CREATE INDEX IF NOT EXISTS idx_departments_updated_at ON departments (updated_at);
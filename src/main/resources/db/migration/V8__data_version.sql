@@ -0,0 +1,30 @@
+-- Single-row change counter behind the collection ETags of GET /employees and /departments.
+-- Statement-level triggers bump it inside the writing transaction, so readers see the new version
+-- exactly when they see the new rows, and reading it costs one primary-key lookup instead of
+-- MAX/COUNT scans. Concurrent writers queue on this row until commit.
+CREATE TABLE IF NOT EXISTS data_version (
+    id         INTEGER PRIMARY KEY CHECK (id = 1),
+    version    BIGINT       NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+INSERT INTO data_version (id, version, updated_at)
+VALUES (1, 0, now())
+ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_data_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE data_version SET version = version + 1, updated_at = clock_timestamp()::timestamp WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS employees_data_version ON employees;
+CREATE TRIGGER employees_data_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON employees
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_data_version();
+
+DROP TRIGGER IF EXISTS departments_data_version ON departments;
+CREATE TRIGGER departments_data_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON departments
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_data_version();
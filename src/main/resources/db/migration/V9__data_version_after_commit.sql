@@ -0,0 +1,12 @@
+-- The V8 triggers updated the data_version row inside every writing transaction, so the row lock was
+-- held until commit: all employee and department writes queued behind each other and could deadlock
+-- with row locks taken in a different order. The application now bumps the row in its own short
+-- transaction after each write commits (CollectionVersion), which never waits on another write and
+-- never exposes the new version before the new rows. Writes made outside the application should run
+--   UPDATE data_version SET version = version + 1, updated_at = now() WHERE id = 1;
+DROP TRIGGER IF EXISTS employees_data_version ON employees;
+DROP TRIGGER IF EXISTS departments_data_version ON departments;
+DROP FUNCTION IF EXISTS bump_data_version();
+
+-- Only served the MAX(updated_at) collection version queries replaced in V8
+DROP INDEX IF EXISTS idx_departments_updated_at;
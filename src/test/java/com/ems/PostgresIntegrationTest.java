@@ -0,0 +1,20 @@
+package com.ems;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base class for tests that need the real schema: one PostgreSQL container is started for the
+ * whole test run and Flyway migrates it exactly as in production (pg_trgm, expression indexes).
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+}
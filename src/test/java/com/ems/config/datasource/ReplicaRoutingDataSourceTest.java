@@ -0,0 +1,108 @@
+package com.ems.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(mock(DataSource.class),
+            replicas(replica1, replica2), 1);
+
+    @AfterEach
+    void clearThreadState() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void writeTransactionsUsePrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readOnlyTransactionsRotateAcrossReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(lookups(4)).containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+    }
+
+    @Test
+    void pinnedReadsUsePrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingContext.pinToPrimary();
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void onPrimaryPinsOnlyForTheAction() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(ReplicaRoutingContext.onPrimary(routing::determineCurrentLookupKey))
+                .isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void unhealthyReplicasAreSkippedUntilTheyRecover() throws SQLException {
+        healthy(replica1, false);
+        healthy(replica2, true);
+        routing.checkReplicaHealth();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(lookups(3)).containsOnly("replica-2");
+
+        healthy(replica1, true);
+        routing.checkReplicaHealth();
+
+        assertThat(lookups(2)).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        healthy(replica1, false);
+        when(replica2.getConnection()).thenThrow(new SQLException("connection refused"));
+        routing.checkReplicaHealth();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    private List<Object> lookups(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> routing.determineCurrentLookupKey())
+                .collect(Collectors.toList());
+    }
+
+    private static void healthy(DataSource replica, boolean valid) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(valid);
+        when(replica.getConnection()).thenReturn(connection);
+    }
+
+    private static Map<String, DataSource> replicas(DataSource first, DataSource second) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", first);
+        replicas.put("replica-2", second);
+        return replicas;
+    }
+}
@@ -0,0 +1,131 @@
+package com.ems.controller;
+
+import com.ems.PostgresIntegrationTest;
+import com.ems.exception.DuplicateResourceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Concurrent writes for one email must leave exactly one row: the unique constraint decides the
+ * race for POST (losers get 409), and the email upsert serializes on the row.
+ */
+@AutoConfigureMockMvc
+class DuplicateEmailConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int PARALLEL = 8;
+    private static final String EMAIL = "race@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE employees, departments CASCADE");
+    }
+
+    @Test
+    void concurrentCreatesWithSameEmailLeaveOneRow() throws Exception {
+        List<MvcResult> results = fire(i -> post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeJson("Racer" + i, null)));
+
+        assertThat(statuses(results)).containsEntry(201, 1L).containsEntry(409, (long) PARALLEL - 1);
+        assertThat(results)
+                .filteredOn(result -> result.getResponse().getStatus() == 409)
+                .allSatisfy(result -> assertThat(result.getResolvedException())
+                        .isInstanceOf(DuplicateResourceException.class));
+        assertThat(rowsWithEmail()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentUpsertsWithSameEmailLeaveOneRowAndConsistentAnalytics() throws Exception {
+        Long first = createDepartment("Race A");
+        Long second = createDepartment("Race B");
+
+        List<MvcResult> results = fire(i -> put("/employees/by-email/" + EMAIL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(employeeJson("Racer" + i, i % 2 == 0 ? first : second)));
+
+        assertThat(statuses(results)).containsEntry(201, 1L).containsEntry(200, (long) PARALLEL - 1);
+        assertThat(rowsWithEmail()).isEqualTo(1);
+
+        // The analytics refresh must follow every move, so only the final department counts the employee
+        Long finalDepartment = jdbcTemplate.queryForObject(
+                "SELECT department_id FROM employees WHERE email = ?", Long.class, EMAIL);
+        assertThat(headcount(finalDepartment)).isEqualTo(1);
+        assertThat(headcount(finalDepartment.equals(first) ? second : first)).isZero();
+    }
+
+    private List<MvcResult> fire(IntFunction<RequestBuilder> request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLEL);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            for (int i = 0; i < PARALLEL; i++) {
+                RequestBuilder builder = request.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(builder).andReturn();
+                }));
+            }
+            start.countDown();
+
+            List<MvcResult> results = new ArrayList<>();
+            for (Future<MvcResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<Integer, Long> statuses(List<MvcResult> results) {
+        return results.stream()
+                .collect(Collectors.groupingBy(result -> result.getResponse().getStatus(), Collectors.counting()));
+    }
+
+    private static String employeeJson(String firstName, Long departmentId) {
+        return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Condition\",\"email\":\"" + EMAIL + "\""
+                + (departmentId != null ? ",\"departmentId\":" + departmentId : "") + "}";
+    }
+
+    private Long createDepartment(String name) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO departments (name, created_at, updated_at) VALUES (?, now(), now()) RETURNING id",
+                Long.class, name);
+    }
+
+    private int rowsWithEmail() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE email = ?", Integer.class, EMAIL);
+    }
+
+    private long headcount(Long departmentId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(headcount), 0) FROM department_stats WHERE department_id = ?", Long.class, departmentId);
+    }
+}
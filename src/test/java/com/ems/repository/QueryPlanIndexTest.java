@@ -0,0 +1,129 @@
+package com.ems.repository;
+
+import com.ems.PostgresIntegrationTest;
+import com.ems.util.CursorUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot listing, filter and search queries are planned on the indexes from the Flyway
+ * migrations. Each check calls the repository and explains the SQL Hibernate sent, with its bound parameters,
+ * so changes to the JPQL, Criteria or native queries are covered. Tables are seeded large enough, and analyzed,
+ * so a sequential scan is never the cheaper plan.
+ */
+@Import(QueryPlanRecorder.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIndexTest extends PostgresIntegrationTest {
+
+    private static final Sort BY_FIRST_NAME = Sort.by("firstName", "id");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("""
+                INSERT INTO departments (name, location, created_at, updated_at)
+                SELECT 'Department ' || i, 'Location ' || (i % 25), now(), now()
+                FROM generate_series(1, 1000) AS i
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO employees (first_name, last_name, email, position, salary, hire_date,
+                                       department_id, created_at, updated_at)
+                SELECT 'First' || md5(i::text),
+                       'Last' || md5((i * 7)::text),
+                       'employee' || i || '@example.com',
+                       (ARRAY ['Engineer', 'Manager', 'Analyst', 'Designer', 'Accountant'])[1 + i % 5] || ' ' || (i % 97),
+                       30000 + (i % 120000),
+                       DATE '2010-01-01' + (i % 5000),
+                       (SELECT MIN(id) FROM departments) + i % 1000,
+                       now(), now()
+                FROM generate_series(1, 100000) AS i
+                """);
+        jdbcTemplate.execute("ANALYZE employees");
+        jdbcTemplate.execute("ANALYZE departments");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE employees, departments CASCADE");
+    }
+
+    // GET /employees default sort
+    @Test
+    void defaultListingReadsInIndexOrder() {
+        assertUsesIndex("idx_employees_first_name_id",
+                () -> employeeRepository.findAllViews(PageRequest.of(1, 10, BY_FIRST_NAME)));
+    }
+
+    // Keyset page after (first_name, id)
+    @Test
+    void keysetPageSeeksIntoIndex() {
+        assertUsesIndex("idx_employees_first_name_id",
+                () -> employeeRepository.findEmployeesAfter("firstName", true,
+                        new CursorUtil.Cursor(50000L, "First8"), 11));
+    }
+
+    @Test
+    void departmentListingUsesForeignKeyIndex() {
+        Long departmentId = jdbcTemplate.queryForObject("SELECT MIN(id) + 42 FROM departments", Long.class);
+
+        assertUsesIndex("idx_employees_department_id",
+                () -> employeeRepository.findViewsByDepartmentId(departmentId, PageRequest.of(0, 10, BY_FIRST_NAME)));
+    }
+
+    @Test
+    void positionFilterUsesExpressionIndex() {
+        assertUsesIndex("idx_employees_position_lower",
+                () -> employeeRepository.findViews(EmployeeSpecifications.hasPosition("Engineer 5"),
+                        PageRequest.of(0, 10, BY_FIRST_NAME)));
+    }
+
+    @Test
+    void hireDateFilterUsesRangeIndex() {
+        assertUsesIndex("idx_employees_hire_date",
+                () -> employeeRepository.findViews(
+                        EmployeeSpecifications.hiredBetween(LocalDate.of(2015, 1, 1), LocalDate.of(2015, 1, 7)),
+                        PageRequest.of(0, 10, BY_FIRST_NAME)));
+    }
+
+    @Test
+    void searchUsesTrigramIndexes() {
+        assertUsesIndex("idx_employees_first_name_trgm",
+                () -> employeeRepository.searchEmployeeIds("a3f9", PageRequest.of(0, 10)));
+    }
+
+    /**
+     * Runs the repository call and checks the plan of the page query it issued. Page counts are skipped:
+     * counting every matching row is expected to read the whole table.
+     */
+    private void assertUsesIndex(String index, Runnable repositoryCall) {
+        List<QueryPlanRecorder.ExplainedQuery> pageQueries = QueryPlanRecorder.explain(repositoryCall).stream()
+                .filter(query -> !query.getSql().stripLeading().toLowerCase(Locale.ROOT).startsWith("select count"))
+                .collect(Collectors.toList());
+
+        assertThat(pageQueries).as("page queries issued").hasSize(1);
+        QueryPlanRecorder.ExplainedQuery query = pageQueries.get(0);
+        assertThat(query.getPlan())
+                .as("plan for %s", query.getSql())
+                .contains(index)
+                .doesNotContain("Seq Scan on employees");
+    }
+}
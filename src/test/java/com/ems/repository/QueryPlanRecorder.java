@@ -0,0 +1,114 @@
+package com.ems.repository;
+
+import lombok.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wraps the application DataSource so that, inside {@link #explain(Runnable)}, every query Hibernate sends is
+ * first run as EXPLAIN on the same connection with the same bound parameters. Plans therefore describe the SQL
+ * the repositories actually generate rather than a hand-written copy of it.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryPlanRecorder implements BeanPostProcessor {
+
+    private static final ThreadLocal<List<ExplainedQuery>> RECORDED = new ThreadLocal<>();
+
+    @Value
+    public static class ExplainedQuery {
+        String sql;
+        String plan;
+    }
+
+    public static List<ExplainedQuery> explain(Runnable action) {
+        List<ExplainedQuery> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            action.run();
+        } finally {
+            RECORDED.remove();
+        }
+        return recorded;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, (p, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? connection(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, (p, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return statement(target, (String) args[0], statement);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement statement(Connection connection, String sql, PreparedStatement target) {
+        List<Object[]> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, (p, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2
+                    && method.getParameterTypes()[0] == int.class) {
+                bindings.add(new Object[]{method, args});
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (name.equals("executeQuery") && args == null) {
+                record(connection, sql, bindings);
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static void record(Connection connection, String sql, List<Object[]> bindings) throws Throwable {
+        List<ExplainedQuery> recorded = RECORDED.get();
+        if (recorded == null || !sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            return;
+        }
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (Object[] binding : bindings) {
+                invoke(explain, (Method) binding[0], (Object[]) binding[1]);
+            }
+            List<String> lines = new ArrayList<>();
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    lines.add(rows.getString(1));
+                }
+            }
+            recorded.add(new ExplainedQuery(sql, String.join("\n", lines)));
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ems.service;
+
+import com.ems.PostgresIntegrationTest;
+import com.ems.dto.EmployeeFilterDTO;
+import com.ems.util.TotalMode;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The list endpoints must issue a fixed number of statements per page however many rows and
+ * departments exist; a growing count means an N+1 (lazy department, per-row employee count) crept back in.
+ */
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.cache.enabled=false",
+        "app.coalescing.enabled=false"
+})
+class ListQueryStatementCountTest extends PostgresIntegrationTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by("id"));
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE employees, departments CASCADE");
+    }
+
+    @Test
+    void employeeListingsUseConstantStatementCount() {
+        EmployeeFilterDTO filter = new EmployeeFilterDTO();
+        filter.setMinSalary(BigDecimal.ONE);
+
+        assertConstant(() -> employeeService.getAllEmployees(PAGE, TotalMode.EXACT));
+        assertConstant(() -> employeeService.searchEmployees("first", PAGE, TotalMode.EXACT));
+        assertConstant(() -> employeeService.filterEmployees(filter, PAGE, TotalMode.EXACT));
+        assertConstant(() -> employeeService.getEmployeesByDepartment(firstDepartmentId(), PAGE, TotalMode.EXACT));
+    }
+
+    @Test
+    void departmentListingUsesConstantStatementCount() {
+        assertConstant(() -> departmentService.getAllDepartments(PAGE, TotalMode.EXACT));
+    }
+
+    /**
+     * Runs the listing against a small and a much larger data set. Every department and every
+     * department's staff outgrows one page in both, so the count query runs each time.
+     */
+    private void assertConstant(Supplier<?> listing) {
+        seed(25, 750);
+        long small = countStatements(listing);
+        cleanUp();
+
+        seed(60, 2400);
+        long large = countStatements(listing);
+        cleanUp();
+
+        assertThat(small).isPositive();
+        assertThat(large).isEqualTo(small);
+    }
+
+    private long countStatements(Supplier<?> listing) {
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        listing.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int departments, int employees) {
+        jdbcTemplate.update("""
+                INSERT INTO departments (name, location, created_at, updated_at)
+                SELECT 'Department ' || n, 'Floor ' || n, now(), now()
+                FROM generate_series(1, ?) AS n
+                """, departments);
+        jdbcTemplate.update("""
+                INSERT INTO employees (first_name, last_name, email, position, salary, hire_date,
+                                       department_id, created_at, updated_at)
+                SELECT 'First' || n, 'Last' || n, 'employee' || n || '@example.com', 'Engineer',
+                       1000 + n, DATE '2020-01-01' + n,
+                       (SELECT MIN(id) FROM departments) + n % ?, now(), now()
+                FROM generate_series(1, ?) AS n
+                """, departments, employees);
+    }
+
+    private Long firstDepartmentId() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM departments", Long.class);
+    }
+}